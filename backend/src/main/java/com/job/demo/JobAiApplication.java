@@ -2,13 +2,19 @@ package com.job.demo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class JobAiApplication {
 
 	public static void main(String[] args) {
 
-		SpringApplication.run(JobAiApplication.class, args);
+		SpringApplication app = new SpringApplication(JobAiApplication.class);
+		// Records startup steps for StartupTimelineReporter
+		app.setApplicationStartup(new BufferingApplicationStartup(10_000));
+		app.run(args);
 		System.out.println("working");
 	}
 
@@ -0,0 +1,104 @@
+package com.job.demo.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read/write split. Only active with app.datasource.routing.enabled=true, otherwise
+ * Spring Boot's single auto-configured datasource is used as before.
+ *
+ * The primary comes from the usual spring.datasource.* properties, replicas from
+ * app.datasource.replica.urls (comma separated, same credentials unless overridden).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig implements DisposableBean {
+
+    @Value("${app.datasource.replica.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.routing.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Value("${app.datasource.routing.read-your-writes-ms:3000}")
+    private long readYourWritesMs;
+
+    private Map<String, DataSource> replicas;
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(Duration.ofMillis(readYourWritesMs));
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReadYourWritesTracker readYourWritesTracker) {
+        return new ReplicaLagMonitor(replicaDataSources(), maxLagSeconds, readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, ReplicaLagMonitor replicaLagMonitor,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+
+        Map<Object, Object> targets = new HashMap<>(replicaDataSources());
+        targets.put(ReplicationRoutingDataSource.PRIMARY, primary);
+
+        ReplicationRoutingDataSource routing = new ReplicationRoutingDataSource(
+                new ArrayList<>(replicaDataSources().keySet()), replicaLagMonitor, readYourWritesTracker);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        // Defers picking a target until the first statement, when the transaction's read-only flag is known
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // The replica pools aren't beans of their own, so Spring won't close them for us
+    @Override
+    public synchronized void destroy() {
+        if (replicas == null) return;
+        for (DataSource replica : replicas.values()) ((HikariDataSource) replica).close();
+    }
+
+    private synchronized Map<String, DataSource> replicaDataSources() {
+        if (replicas == null) {
+            Map<String, DataSource> built = new LinkedHashMap<>();
+            for (int i = 0; i < replicaUrls.size(); i++) {
+                HikariDataSource replica = new HikariDataSource();
+                replica.setPoolName("replica-" + i);
+                replica.setJdbcUrl(replicaUrls.get(i).trim());
+                replica.setUsername(replicaUsername);
+                replica.setPassword(replicaPassword);
+                replica.setReadOnly(true);
+                built.put("replica-" + i, replica);
+            }
+            replicas = built;
+        }
+        return replicas;
+    }
+}
@@ -0,0 +1,111 @@
+package com.job.demo.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.job.demo.service.RateLimiter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rejects requests to the expensive endpoints (BCrypt logins, registrations, uploads)
+ * with 429 once a client runs out of tokens. Sits in the security chain before the
+ * form login filter, so a throttled login never reaches the password check.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    /** Limits for one route. Paths may hold {variables}. Either limit may be null to skip that dimension. */
+    public static class Route {
+        private final String name;
+        private final String method;
+        private final List<String> paths;
+        private final RateLimiter.Limit perIp;
+        private final RateLimiter.Limit perAccount;
+
+        public Route(String name, String method, List<String> paths, RateLimiter.Limit perIp, RateLimiter.Limit perAccount) {
+            this.name = name;
+            this.method = method;
+            this.paths = paths;
+            this.perIp = perIp;
+            this.perAccount = perAccount;
+        }
+
+        boolean matches(HttpServletRequest request) {
+            if (!method.equalsIgnoreCase(request.getMethod())) return false;
+            for (String path : paths) {
+                if (PATH_MATCHER.match(path, request.getServletPath())) return true;
+            }
+            return false;
+        }
+    }
+
+    private final RateLimiter rateLimiter;
+    private final List<Route> routes;
+
+    public RateLimitFilter(RateLimiter rateLimiter, List<Route> routes) {
+        this.rateLimiter = rateLimiter;
+        this.routes = routes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Route route = findRoute(request);
+        if (route == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long waitMillis = 0;
+        if (route.perIp != null) {
+            waitMillis = rateLimiter.tryAcquire(route.name + ":ip:" + request.getRemoteAddr(), route.perIp);
+        }
+        if (waitMillis == 0 && route.perAccount != null) {
+            String account = accountOf(request);
+            if (account != null) {
+                waitMillis = rateLimiter.tryAcquire(route.name + ":account:" + account, route.perAccount);
+            }
+        }
+
+        if (waitMillis > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf((waitMillis + 999) / 1000));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\": \"Too many requests, please try again later\"}");
+            response.getWriter().flush();
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private Route findRoute(HttpServletRequest request) {
+        for (Route route : routes) {
+            if (route.matches(request)) return route;
+        }
+        return null;
+    }
+
+    // Logged-in user for uploads, the submitted username for login attempts
+    private String accountOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && !"anonymousUser".equals(authentication.getName())) {
+            return authentication.getName();
+        }
+        // Never touch parameters of multipart requests, that would parse the whole upload
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.startsWith("application/x-www-form-urlencoded")) return null;
+        String username = request.getParameter("username");
+        return username == null || username.isBlank() ? null : username.trim().toLowerCase();
+    }
+}
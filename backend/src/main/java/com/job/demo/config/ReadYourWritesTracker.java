@@ -0,0 +1,38 @@
+package com.job.demo.config;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently so their reads stay on the primary until
+ * the replicas have had time to catch up.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int MAX_TRACKED_USERS = 100_000;
+
+    private final long pinMillis;
+    private final ConcurrentHashMap<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration pinWindow) {
+        this.pinMillis = pinWindow.toMillis();
+    }
+
+    public void recordWrite(String user) {
+        if (pinnedUntil.size() >= MAX_TRACKED_USERS) evictExpired();
+        pinnedUntil.put(user, System.currentTimeMillis() + pinMillis);
+    }
+
+    public boolean isPinned(String user) {
+        Long until = pinnedUntil.get(user);
+        if (until == null) return false;
+        if (until > System.currentTimeMillis()) return true;
+        pinnedUntil.remove(user, until);
+        return false;
+    }
+
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        pinnedUntil.values().removeIf(until -> until <= now);
+    }
+}
@@ -0,0 +1,82 @@
+package com.job.demo.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Polls every replica for its replication lag and marks it unhealthy once the lag
+ * goes over the threshold (or replication is stopped), so reads fall back to the primary.
+ * Only changes of health are reported, not every failing poll.
+ */
+public class ReplicaLagMonitor {
+
+    private final Map<String, DataSource> replicas;
+    private final long maxLagSeconds;
+    private final ReadYourWritesTracker writesTracker;
+    private final Map<String, Long> lastLagSeconds = new ConcurrentHashMap<>();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, long maxLagSeconds, ReadYourWritesTracker writesTracker) {
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLagSeconds;
+        this.writesTracker = writesTracker;
+    }
+
+    public boolean isHealthy(String key) {
+        Long lag = lastLagSeconds.get(key);
+        return lag != null && lag >= 0 && lag <= maxLagSeconds;
+    }
+
+    public Map<String, Long> getLastLagSeconds() {
+        return Map.copyOf(lastLagSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval-ms:2000}")
+    public void checkLag() {
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            String key = replica.getKey();
+            // Unpolled replicas count as healthy here, so a replica that is down at startup is reported
+            boolean wasHealthy = !lastLagSeconds.containsKey(key) || isHealthy(key);
+            String[] problem = { null };
+            lastLagSeconds.put(key, readLag(replica.getValue(), problem));
+            boolean healthy = isHealthy(key);
+            if (wasHealthy && !healthy) {
+                long lag = lastLagSeconds.get(key);
+                System.err.println("Warning: Replica " + key + " taken out of rotation: "
+                        + (problem[0] != null ? problem[0] : lag < 0 ? "replication not running" : "lag " + lag + "s"));
+            } else if (!wasHealthy && healthy) {
+                System.err.println("Warning: Replica " + key + " back in rotation");
+            }
+        }
+        writesTracker.evictExpired();
+    }
+
+    // Returns -1 when the lag is unknown (replica down, or replication not running)
+    private long readLag(DataSource dataSource, String[] problem) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String query : List.of("SHOW REPLICA STATUS", "SHOW SLAVE STATUS")) {
+                try (ResultSet rs = statement.executeQuery(query)) {
+                    if (!rs.next()) return -1;
+                    String column = query.contains("REPLICA") ? "Seconds_Behind_Source" : "Seconds_Behind_Master";
+                    long lag = rs.getLong(column);
+                    return rs.wasNull() ? -1 : lag;
+                } catch (SQLException e) {
+                    // Older MySQL versions only understand SHOW SLAVE STATUS
+                }
+            }
+            return -1;
+        } catch (SQLException e) {
+            problem[0] = e.getMessage();
+            return -1;
+        }
+    }
+}
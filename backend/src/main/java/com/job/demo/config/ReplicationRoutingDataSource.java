@@ -0,0 +1,62 @@
+package com.job.demo.config;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy, otherwise the physical connection is
+ * fetched before the transaction's read-only flag is visible here.
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker writesTracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicationRoutingDataSource(List<String> replicaKeys, ReplicaLagMonitor lagMonitor,
+                                        ReadYourWritesTracker writesTracker) {
+        this.replicaKeys = List.copyOf(replicaKeys);
+        this.lagMonitor = lagMonitor;
+        this.writesTracker = writesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+
+        // Lazy loads outside of any transaction simply stay on the primary
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) return PRIMARY;
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Any write transaction pins the user to the primary for a short window
+            if (user != null) writesTracker.recordWrite(user);
+            return PRIMARY;
+        }
+        if (user != null && writesTracker.isPinned(user)) return PRIMARY;
+
+        // Round-robin over replicas, skipping the ones that are lagging too far behind
+        int size = replicaKeys.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get((start + i) % size);
+            if (lagMonitor.isHealthy(key)) return key;
+        }
+        return PRIMARY;
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) return null;
+        return authentication.getName();
+    }
+}
@@ -3,6 +3,7 @@ package com.job.demo.config;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
@@ -18,11 +19,14 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.AuthenticationFailureHandler;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.job.demo.service.CustomUserDetailsService;
+import com.job.demo.service.RateLimiter;
+import com.job.demo.service.SeenJobsService;
 
 @Configuration
 @EnableWebSecurity
@@ -34,6 +38,37 @@ public class SecurityConfig {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private SeenJobsService seenJobsService;
+
+    @Value("${app.ratelimit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${app.ratelimit.login.per-ip:20/1m}")
+    private String loginPerIp;
+
+    @Value("${app.ratelimit.login.per-account:5/1m}")
+    private String loginPerAccount;
+
+    @Value("${app.ratelimit.register.per-ip:5/10m}")
+    private String registerPerIp;
+
+    @Value("${app.ratelimit.upload.per-ip:30/1m}")
+    private String uploadPerIp;
+
+    @Value("${app.ratelimit.upload.per-account:10/1m}")
+    private String uploadPerAccount;
+
+    // Resumable upload chunks are small and many (a 10MB file is ~40 of them), so they get their own budget
+    @Value("${app.ratelimit.upload-chunk.per-ip:600/1m}")
+    private String uploadChunkPerIp;
+
+    @Value("${app.ratelimit.upload-chunk.per-account:200/1m}")
+    private String uploadChunkPerAccount;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -58,9 +93,29 @@ public class SecurityConfig {
                         .permitAll()
                 );
 
+        if (rateLimitEnabled) {
+            // Runs before the login filter so throttled attempts never reach BCrypt
+            http.addFilterBefore(rateLimitFilter(), UsernamePasswordAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 
+    // Not a @Bean on purpose: Boot would also register it as a plain servlet filter
+    private RateLimitFilter rateLimitFilter() {
+        return new RateLimitFilter(rateLimiter, List.of(
+                new RateLimitFilter.Route("login", "POST", List.of("/login"),
+                        RateLimiter.Limit.parse(loginPerIp), RateLimiter.Limit.parse(loginPerAccount)),
+                new RateLimitFilter.Route("register", "POST", List.of("/api/auth/register"),
+                        RateLimiter.Limit.parse(registerPerIp), null),
+                new RateLimitFilter.Route("upload", "POST", List.of("/api/profile/upload-photo", "/api/profile/upload-resume",
+                        "/api/profile/uploads/{target}", "/api/profile/uploads/{uploadId}/complete"),
+                        RateLimiter.Limit.parse(uploadPerIp), RateLimiter.Limit.parse(uploadPerAccount)),
+                new RateLimitFilter.Route("upload-chunk", "PUT", List.of("/api/profile/uploads/{uploadId}"),
+                        RateLimiter.Limit.parse(uploadChunkPerIp), RateLimiter.Limit.parse(uploadChunkPerAccount))
+        ));
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -78,6 +133,8 @@ public class SecurityConfig {
     @Bean
     public AuthenticationSuccessHandler successHandler() {
         return (request, response, authentication) -> {
+            // Start loading the swipe history so the first feed request finds it in memory
+            seenJobsService.preloadAsync(authentication.getName());
             response.setStatus(HttpStatus.OK.value());
             response.getWriter().write("{\"message\": \"Login successful\"}");
             response.getWriter().flush();
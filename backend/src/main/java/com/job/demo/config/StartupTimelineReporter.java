@@ -0,0 +1,64 @@
+package com.job.demo.config;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs (at info) time-to-ready and the slowest bean / repository initializations once the app is up.
+ * Durations are inclusive: a bean's time also covers the dependencies it created.
+ */
+@Component
+public class StartupTimelineReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimelineReporter.class);
+
+    private static final List<String> REPORTED_STEPS = List.of("spring.beans.instantiate", "spring.data.repository.init");
+
+    @Autowired
+    private ApplicationStartup applicationStartup;
+
+    @Value("${app.startup.timeline.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.startup.timeline.top:20}")
+    private int top;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        if (!enabled || !log.isInfoEnabled() || !(applicationStartup instanceof BufferingApplicationStartup buffering)) return;
+
+        // Drains the buffer; nothing else reads it
+        StartupTimeline timeline = buffering.drainBufferedTimeline();
+        long jvmUptime = ManagementFactory.getRuntimeMXBean().getUptime();
+
+        StringBuilder report = new StringBuilder("Startup timeline: ready after ")
+                .append(jvmUptime).append(" ms since JVM start, slowest initializations:\n");
+        timeline.getEvents().stream()
+                .filter(event -> REPORTED_STEPS.contains(event.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(top)
+                .forEach(event -> report.append(String.format("  %6d ms  %-28s %s%n",
+                        event.getDuration().toMillis(), event.getStartupStep().getName(), describe(event.getStartupStep()))));
+        log.info(report.toString().stripTrailing());
+    }
+
+    private static String describe(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals("beanName") || tag.getKey().equals("repository")) return tag.getValue();
+        }
+        return "";
+    }
+}
@@ -1,23 +1,13 @@
 package com.job.demo.config;
 
-import java.nio.file.Paths;
-
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Maps /uploads/** URL path to the actual directory on disk
-        String uploadPath = Paths.get("uploads").toAbsolutePath().toUri().toString();
-        
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations(uploadPath);
-    }
+    // /uploads/** is served by FileServingController through the storage backend
 
     @Override
     public void addCorsMappings(CorsRegistry registry) {
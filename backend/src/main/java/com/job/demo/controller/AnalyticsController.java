@@ -0,0 +1,38 @@
+package com.job.demo.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.job.demo.dto.TalentAnalyticsResponse;
+import com.job.demo.service.TalentAnalyticsService;
+
+@Lazy
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    @Autowired
+    private TalentAnalyticsService talentAnalyticsService;
+
+    // Accounts allowed to see the talent dashboards (recruiters, admins); empty means nobody
+    @Value("${app.analytics.allowed-users:}")
+    private List<String> allowedUsers;
+
+    // Served from in-memory aggregates, never from a GROUP BY on the database
+    @GetMapping("/talent")
+    public ResponseEntity<TalentAnalyticsResponse> getTalentAnalytics(Authentication authentication,
+                                                                      @RequestParam(defaultValue = "50") int topSkills) {
+        if (!allowedUsers.contains(authentication.getName())) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        return ResponseEntity.ok(talentAnalyticsService.getSnapshot(Math.max(1, Math.min(topSkills, 500))));
+    }
+}
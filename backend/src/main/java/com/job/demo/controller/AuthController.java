@@ -1,10 +1,12 @@
 package com.job.demo.controller;
 
 // Your existing imports
+import com.job.demo.config.ReadYourWritesTracker;
 import com.job.demo.dto.RegistrationRequest;
 import com.job.demo.model.User;
 import com.job.demo.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
@@ -33,6 +35,10 @@ public class AuthController {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    // Only present when reads are routed to replicas
+    @Autowired(required = false)
+    private ReadYourWritesTracker readYourWritesTracker;
+
 
     // --- 2. UPDATE THE METHOD SIGNATURE ---
     @PostMapping("/register") // The full URL is /api/auth/register
@@ -44,7 +50,7 @@ public class AuthController {
         }
 
         // 2. Check if email already exists
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
+        if (userRepository.findByEmailOnPrimary(request.getEmail()).isPresent()) {
             return ResponseEntity.badRequest().body("Error: Email is already taken!");
         }
 
@@ -59,8 +65,15 @@ public class AuthController {
         user.setPassword(hashedPassword);
         user.setPhoneNumber(request.getPhoneNumber());
 
-        // 5. Save the user to the database
-        userRepository.save(user);
+        // 5. Save the user to the database (the unique key catches a registration racing this one)
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.badRequest().body("Error: Email is already taken!");
+        }
+        // The save ran before there was an Authentication to pin, so pin the new account here:
+        // the first profile reads after sign-up must not hit a replica that hasn't seen it yet
+        if (readYourWritesTracker != null) readYourWritesTracker.recordWrite(request.getEmail());
 
         // --- 6. NEW: AUTO-LOGIN LOGIC ---
         // This programmatically authenticates the new user
@@ -0,0 +1,77 @@
+package com.job.demo.controller;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.job.demo.service.ProfileExportService;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+@Lazy // Rarely used, created on first request instead of at startup
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    @Autowired
+    private ProfileExportService profileExportService;
+
+    // Accounts allowed to pull full exports (recruiting partners); empty means nobody
+    @Value("${app.export.allowed-users:}")
+    private List<String> allowedUsers;
+
+    // Written straight to the (gzipped) response stream, synchronously, so long exports
+    // aren't cut off by the async request timeout
+    @GetMapping("/profiles")
+    public void exportProfiles(Authentication authentication,
+                               @RequestParam(defaultValue = "csv") String format,
+                               @RequestParam(required = false) String role,
+                               @RequestParam(required = false) String skill,
+                               @RequestParam(required = false) String location,
+                               @RequestParam(defaultValue = "false") boolean includeRemote,
+                               HttpServletResponse response) throws IOException {
+        if (!allowedUsers.contains(authentication.getName())) {
+            response.sendError(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+
+        ProfileExportService.Format exportFormat;
+        try {
+            exportFormat = ProfileExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "format must be csv or ndjson");
+            return;
+        }
+
+        ProfileExportService.Filter filter = new ProfileExportService.Filter();
+        filter.setRole(role);
+        filter.setSkill(skill);
+        filter.setLocation(location);
+        filter.setIncludeRemote(includeRemote);
+
+        boolean csv = exportFormat == ProfileExportService.Format.CSV;
+        response.setContentType(csv ? "text/csv; charset=UTF-8" : "application/x-ndjson; charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"profiles." + (csv ? "csv" : "ndjson") + "\"");
+
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(response.getOutputStream(), 64 * 1024), StandardCharsets.UTF_8), 64 * 1024)) {
+            profileExportService.export(filter, exportFormat, out);
+        }
+    }
+}
@@ -1,19 +1,33 @@
 package com.job.demo.controller;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.job.demo.service.FileStorageService;
+import com.job.demo.service.SmallFileCache;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+
 @RestController
 public class FileServingController {
 
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private SmallFileCache smallFileCache;
+
     // Helper to determine content type
     private MediaType getMediaTypeForFileName(String fileName) {
         if (fileName.endsWith(".pdf")) return MediaType.APPLICATION_PDF;
@@ -23,23 +37,43 @@ public class FileServingController {
     }
 
     @GetMapping("/uploads/{folder}/{filename:.+}")
-    public ResponseEntity<Resource> serveFile(@PathVariable String folder, @PathVariable String filename) {
+    public ResponseEntity<Resource> serveFile(@PathVariable String folder, @PathVariable String filename,
+                                              HttpServletResponse response) {
         try {
-            // 1. Build the path to the file
-            // System.getProperty("user.dir") ensures we look in the project root/uploads
-            Path filePath = Paths.get(System.getProperty("user.dir"), "uploads", folder, filename);
-            Resource resource = new UrlResource(filePath.toUri());
-
-            // 2. Check if file exists
-            if (resource.exists() && resource.isReadable()) {
-                return ResponseEntity.ok()
-                        .contentType(getMediaTypeForFileName(filename))
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
+            // 1. Small, popular files come straight out of the in-memory cache
+            String key = FileStorageService.toKey(folder, filename);
+            ByteBuffer cached = smallFileCache.get(key);
+
+            if (cached == null) {
+                // 2. Resolve through the storage backend (local shards, S3, or the old flat layout)
+                Resource resource = fileStorageService.loadFile(folder, filename);
+
+                // 3. Check if file exists
+                if (resource == null) return ResponseEntity.notFound().build();
+
+                cached = smallFileCache.cacheIfAdmitted(key, resource);
+                if (cached == null) {
+                    return ResponseEntity.ok()
+                            .contentType(getMediaTypeForFileName(filename))
+                            .body(resource);
+                }
             }
+            writeBuffer(response, getMediaTypeForFileName(filename), cached);
+            return null; // response already written
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    // Copied out through a small reusable buffer; the cached file itself never lands on the heap
+    private static void writeBuffer(HttpServletResponse response, MediaType contentType, ByteBuffer data) throws IOException {
+        response.setContentType(contentType.toString());
+        response.setContentLengthLong(data.remaining());
+        ServletOutputStream out = response.getOutputStream();
+        WritableByteChannel channel = Channels.newChannel(out);
+        while (data.hasRemaining()) channel.write(data);
+        out.flush();
+    }
+}
@@ -0,0 +1,207 @@
+package com.job.demo.controller;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.job.demo.dto.CandidateSummary;
+import com.job.demo.model.Job;
+import com.job.demo.model.User;
+import com.job.demo.model.UserProfile;
+import com.job.demo.repository.JobRepository;
+import com.job.demo.repository.UserProfileRepository;
+import com.job.demo.repository.UserRepository;
+import com.job.demo.service.FeedDeckCache;
+import com.job.demo.service.IndexWarmup;
+import com.job.demo.service.JobAttributeIndex;
+import com.job.demo.service.JobService;
+import com.job.demo.service.LocationIndexService;
+import com.job.demo.service.SeenJobsService;
+
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    @Autowired
+    private JobService jobService;
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+    @Autowired
+    private LocationIndexService locationIndexService;
+    @Autowired
+    private SeenJobsService seenJobsService;
+    @Autowired
+    private JobAttributeIndex jobAttributeIndex;
+    @Autowired
+    private FeedDeckCache feedDeckCache;
+    @Autowired
+    private IndexWarmup indexWarmup;
+
+    @Value("${app.feed.deck-size:200}")
+    private int deckSize;
+    // A posting's ranking weight halves every this long after it was posted
+    @Value("${app.feed.freshness-half-life:3d}")
+    private Duration freshnessHalfLife;
+    // Accounts allowed to post, delete and search candidates for jobs (ingestion, recruiters); empty means nobody
+    @Value("${app.jobs.admin-users:}")
+    private List<String> adminUsers;
+
+    @PostMapping
+    public ResponseEntity<Job> createJob(Authentication authentication, @RequestBody Job job) {
+        if (!isAdmin(authentication)) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        // The startup scans read a snapshot; a change made while they stream could be put back from it
+        if (!indexWarmup.isReady()) return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        job.setId(null);
+        return ResponseEntity.ok(jobService.save(job));
+    }
+
+    // Feed ingestion: reposts come back with canonicalJobId set and stay out of the feed
+    @PostMapping("/batch")
+    public ResponseEntity<List<Job>> createJobs(Authentication authentication, @RequestBody List<Job> jobs) {
+        if (!isAdmin(authentication)) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        if (!indexWarmup.isReady()) return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        jobs.forEach(job -> job.setId(null));
+        return ResponseEntity.ok(jobService.saveAll(jobs));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Job> getJob(@PathVariable Long id) {
+        return jobRepository.findById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteJob(Authentication authentication, @PathVariable Long id) {
+        if (!isAdmin(authentication)) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        if (!indexWarmup.isReady()) return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        if (!jobRepository.existsById(id)) return ResponseEntity.notFound().build();
+        jobService.delete(id);
+        return ResponseEntity.ok("Job deleted");
+    }
+
+    // Feed: jobs near my preferred location (or remote) that pass the attribute filters, ranked by
+    // rating and freshness, minus the ones I already swiped. minSalary is yearly INR and defaults
+    // to the profile's minimum. The ranked deck is cached, so paging only re-checks swipes and liveness.
+    @GetMapping("/nearby")
+    public ResponseEntity<List<Job>> nearbyJobs(Authentication authentication,
+                                                @RequestParam(defaultValue = "50") double radiusKm,
+                                                @RequestParam(defaultValue = "true") boolean includeRemote,
+                                                @RequestParam(required = false) List<String> jobType,
+                                                @RequestParam(required = false) List<String> workMode,
+                                                @RequestParam(required = false) Integer minSalary,
+                                                @RequestParam(defaultValue = "true") boolean includeUnknownSalary,
+                                                @RequestParam(defaultValue = "50") int limit) {
+        String email = authentication.getName();
+        int max = Math.max(1, Math.min(limit, 200));
+        String query = radiusKm + "|" + includeRemote + "|" + jobType + "|" + workMode + "|" + minSalary + "|" + includeUnknownSalary;
+
+        FeedDeckCache.Deck deck = feedDeckCache.get(email, query);
+        List<Long> ids = deck == null ? List.of() : unseenIds(email, deck.getJobIds(), max);
+        // A deck that left matches out is re-ranked once swiped through; otherwise there's nothing more to show
+        if (deck == null || (ids.size() < max && deck.isTruncated())) {
+            RoaringBitmap matches = matchingJobs(email, radiusKm, includeRemote, jobType, workMode, minSalary, includeUnknownSalary);
+            int[] ranked = jobAttributeIndex.rank(matches, deckSize, System.currentTimeMillis(), freshnessHalfLife);
+            deck = feedDeckCache.put(email, query, ranked, matches.getCardinality() > ranked.length);
+            ids = unseenIds(email, deck.getJobIds(), max);
+        }
+
+        // findAllById doesn't keep order; put the rows back in deck order
+        Map<Long, Job> byId = new HashMap<>();
+        for (Job job : jobRepository.findAllById(ids)) byId.put(job.getId(), job);
+        return ResponseEntity.ok(ids.stream().map(byId::get).filter(Objects::nonNull).toList());
+    }
+
+    private RoaringBitmap matchingJobs(String email, double radiusKm, boolean includeRemote, List<String> jobType, List<String> workMode,
+                           Integer minSalary, boolean includeUnknownSalary) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+        UserProfile profile = userProfileRepository.findByUser(user).orElse(null);
+
+        RoaringBitmap matches;
+        if (profile != null && profile.getPreferredLatitude() != null && !profile.isRemoteOnly()) {
+            matches = locationIndexService.jobsNear(profile.getPreferredLatitude(), profile.getPreferredLongitude(), radiusKm, includeRemote);
+        } else {
+            // Remote-only candidates, or no known location: remote jobs are all we can match on
+            matches = locationIndexService.remoteJobs();
+        }
+
+        JobAttributeIndex.Filter filter = new JobAttributeIndex.Filter();
+        filter.setJobTypes(jobType);
+        filter.setWorkModes(workMode);
+        filter.setMinAnnualSalary(minSalary != null ? minSalary : profile != null ? profile.getMinSalary() : 0);
+        filter.setIncludeUnknownSalary(includeUnknownSalary);
+        matches.and(jobAttributeIndex.matching(filter));
+
+        return seenJobsService.unseen(email, matches);
+    }
+
+    // Jobs that expired or were deleted since the deck was ranked are skipped here, not cut out of decks
+    private List<Long> unseenIds(String email, int[] deck, int max) {
+        List<Long> result = new ArrayList<>();
+        for (int i = 0; i < deck.length && result.size() < max; i++) {
+            if (jobAttributeIndex.isLive(deck[i]) && !seenJobsService.hasSeen(email, deck[i])) result.add((long) deck[i]);
+        }
+        return result;
+    }
+
+    // Recruiter search: candidates who want to work near this job (or remote, if the job allows it)
+    @GetMapping("/{id}/candidates")
+    public ResponseEntity<List<CandidateSummary>> nearbyCandidates(Authentication authentication, @PathVariable Long id,
+                                                                   @RequestParam(defaultValue = "50") double radiusKm,
+                                                                   @RequestParam(defaultValue = "50") int limit) {
+        if (!isAdmin(authentication)) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        Job job = jobRepository.findById(id).orElse(null);
+        if (job == null) return ResponseEntity.notFound().build();
+        if (job.getLatitude() == null) return ResponseEntity.ok(List.of());
+
+        RoaringBitmap matches = locationIndexService.candidatesNear(job.getLatitude(), job.getLongitude(), radiusKm, job.isRemote());
+
+        List<CandidateSummary> candidates = new ArrayList<>();
+        for (UserProfile profile : userProfileRepository.findAllById(firstIds(matches, limit))) {
+            CandidateSummary summary = new CandidateSummary();
+            summary.setProfileId(profile.getId());
+            summary.setFullName(profile.getUser() != null ? profile.getUser().getFullName() : null);
+            summary.setTargetRole(profile.getTargetRole());
+            summary.setExperienceYears(profile.getExperienceYears());
+            summary.setPreferredLocation(profile.getPreferredLocation());
+            summary.setRemoteOnly(profile.isRemoteOnly());
+            candidates.add(summary);
+        }
+        return ResponseEntity.ok(candidates);
+    }
+
+    private boolean isAdmin(Authentication authentication) {
+        return adminUsers.contains(authentication.getName());
+    }
+
+    private static List<Long> firstIds(RoaringBitmap ids, int limit) {
+        List<Long> result = new ArrayList<>();
+        IntIterator it = ids.getIntIterator();
+        int max = Math.max(1, Math.min(limit, 200));
+        while (it.hasNext() && result.size() < max) result.add((long) it.next());
+        return result;
+    }
+}
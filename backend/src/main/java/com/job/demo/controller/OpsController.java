@@ -0,0 +1,44 @@
+package com.job.demo.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.job.demo.dto.FileCacheStats;
+import com.job.demo.dto.OutboxStats;
+import com.job.demo.service.ProfileOutboxDispatcher;
+import com.job.demo.service.SmallFileCache;
+
+// Operational counters for the background machinery
+@RestController
+@RequestMapping("/api/ops")
+public class OpsController {
+
+    @Autowired
+    private ProfileOutboxDispatcher profileOutboxDispatcher;
+    @Autowired
+    private SmallFileCache smallFileCache;
+
+    // Accounts allowed to read these counters (operators); empty means nobody
+    @Value("${app.ops.allowed-users:}")
+    private List<String> allowedUsers;
+
+    @GetMapping("/outbox")
+    public ResponseEntity<OutboxStats> outboxStats(Authentication authentication) {
+        if (!allowedUsers.contains(authentication.getName())) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        return ResponseEntity.ok(profileOutboxDispatcher.getStats());
+    }
+
+    @GetMapping("/file-cache")
+    public ResponseEntity<FileCacheStats> fileCacheStats(Authentication authentication) {
+        if (!allowedUsers.contains(authentication.getName())) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        return ResponseEntity.ok(smallFileCache.getStats());
+    }
+}
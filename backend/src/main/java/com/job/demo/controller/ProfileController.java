@@ -1,21 +1,31 @@
 package com.job.demo.controller;
 
+import java.io.IOException;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.job.demo.dto.ChunkedUploadRequest;
 import com.job.demo.dto.ProfileResponse;
 import com.job.demo.dto.ProfileSetupRequest;
 import com.job.demo.model.Skill;
@@ -24,7 +34,14 @@ import com.job.demo.model.UserProfile;
 import com.job.demo.repository.SkillRepository;
 import com.job.demo.repository.UserProfileRepository;
 import com.job.demo.repository.UserRepository;
+import com.job.demo.service.ChunkedUploadService;
+import com.job.demo.service.FileDeletionQueue;
 import com.job.demo.service.FileStorageService;
+import com.job.demo.service.LocationNormalizer;
+import com.job.demo.service.ProfileFacts;
+import com.job.demo.service.ProfileOutbox;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api/profile")
@@ -38,8 +55,21 @@ public class ProfileController {
     private SkillRepository skillRepository;
     @Autowired
     private FileStorageService fileStorageService;
+    @Autowired
+    private FileDeletionQueue fileDeletionQueue;
+    @Autowired
+    private LocationNormalizer locationNormalizer;
+    @Autowired
+    private ProfileOutbox profileOutbox;
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static final Map<String, String> UPLOAD_TARGETS = Map.of("photo", "profile-pictures", "resume", "resumes");
 
     @GetMapping("/me")
+    @Transactional(readOnly = true) // Lets the whole read (including lazy skills) go to a replica
     public ResponseEntity<ProfileResponse> getMyProfile(Authentication authentication) {
         String email = authentication.getName();
         User user = userRepository.findByEmail(email)
@@ -90,6 +120,7 @@ public class ProfileController {
     }
 
     @PostMapping("/setup")
+    @Transactional // Profile and its outbox event commit together
     public ResponseEntity<?> updateProfile(Authentication authentication, @RequestBody ProfileSetupRequest request) {
         String email = authentication.getName();
         User user = userRepository.findByEmail(email)
@@ -99,8 +130,10 @@ public class ProfileController {
         if (request.getPhoneNumber() != null) user.setPhoneNumber(request.getPhoneNumber());
         userRepository.save(user);
 
-        UserProfile profile = userProfileRepository.findByUser(user).orElse(new UserProfile());
+        // Locked, so "before" is exactly what this edit replaces even with two edits racing
+        UserProfile profile = userProfileRepository.findByUserForUpdate(user).orElse(new UserProfile());
         if (profile.getUser() == null) profile.setUser(user);
+        ProfileFacts before = ProfileFacts.of(profile);
 
         profile.setBio(request.getBio());
         profile.setTargetRole(request.getTargetRole());
@@ -108,6 +141,12 @@ public class ProfileController {
         profile.setRemoteOnly(request.isRemoteOnly());
         profile.setPreferredLocation(request.getPreferredLocation());
         profile.setMinSalary(request.getMinSalary());
+
+        // Resolve the free-text location once here, so searches only compare coordinates
+        LocationNormalizer.Place place = locationNormalizer.normalize(request.getPreferredLocation());
+        profile.setPreferredPlace(place.getName());
+        profile.setPreferredLatitude(place.getLatitude());
+        profile.setPreferredLongitude(place.getLongitude());
         
         // --- HANDLE LINKS (ADD & DELETE) ---
         if (request.getSocialLinks() != null) {
@@ -135,33 +174,114 @@ public class ProfileController {
             profile.setSkills(newSkills);
         }
 
-        userProfileRepository.save(profile);
+        profile = userProfileRepository.save(profile);
+        // Analytics on every instance applies before -> after from the event
+        profileOutbox.recordEdit(profile.getId(), before, ProfileFacts.of(profile));
         return ResponseEntity.ok("Profile updated successfully!");
     }
     
+    // Storing the file (possibly an S3 PUT of several MB) happens before any transaction is opened;
+    // only attaching it to the profile holds a connection
     @PostMapping("/upload-photo")
     public ResponseEntity<?> uploadProfilePicture(Authentication authentication, @RequestParam("file") MultipartFile file) {
         if (file.isEmpty()) return ResponseEntity.badRequest().body("No file uploaded");
-        User user = userRepository.findByEmail(authentication.getName()).orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        UserProfile profile = userProfileRepository.findByUser(user).orElse(new UserProfile());
-        if(profile.getUser() == null) profile.setUser(user);
-        if(profile.getProfilePictureUrl() != null) fileStorageService.deleteFile(profile.getProfilePictureUrl());
         String fileUrl = fileStorageService.storeFile(file, "profile-pictures");
-        profile.setProfilePictureUrl(fileUrl);
-        userProfileRepository.save(profile);
+        attachFile(authentication, "profile-pictures", fileUrl);
         return ResponseEntity.ok(fileUrl);
     }
 
     @PostMapping("/upload-resume")
     public ResponseEntity<?> uploadResume(Authentication authentication, @RequestParam("file") MultipartFile file) {
         if (file.isEmpty()) return ResponseEntity.badRequest().body("No file uploaded");
-        User user = userRepository.findByEmail(authentication.getName()).orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        UserProfile profile = userProfileRepository.findByUser(user).orElse(new UserProfile());
-        if(profile.getUser() == null) profile.setUser(user);
-        if(profile.getResumeUrl() != null) fileStorageService.deleteFile(profile.getResumeUrl());
         String fileUrl = fileStorageService.storeFile(file, "resumes");
-        profile.setResumeUrl(fileUrl);
-        userProfileRepository.save(profile);
+        attachFile(authentication, "resumes", fileUrl);
         return ResponseEntity.ok(fileUrl);
     }
-}
\ No newline at end of file
+
+    // --- RESUMABLE UPLOADS ---
+    // POST /uploads/{photo|resume} -> PUT /uploads/{id}?offset=N (raw chunk body, repeat) -> POST /uploads/{id}/complete.
+    // After a dropped connection, GET /uploads/{id} lists the offsets that still need sending.
+
+    @PostMapping("/uploads/{target}")
+    public ResponseEntity<?> startUpload(Authentication authentication, @PathVariable String target,
+                                         @RequestBody ChunkedUploadRequest request) {
+        String folder = UPLOAD_TARGETS.get(target);
+        if (folder == null) return ResponseEntity.badRequest().body("Error: target must be 'photo' or 'resume'");
+        return uploadResponse(() -> chunkedUploadService.create(authentication.getName(), folder, request));
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<?> uploadStatus(Authentication authentication, @PathVariable String uploadId) {
+        return uploadResponse(() -> chunkedUploadService.status(authentication.getName(), uploadId));
+    }
+
+    // Read from the raw request stream, so the chunk goes to disk without being buffered as multipart
+    @PutMapping("/uploads/{uploadId}")
+    public ResponseEntity<?> uploadChunk(Authentication authentication, @PathVariable String uploadId,
+                                         @RequestParam long offset, HttpServletRequest request) {
+        return uploadResponse(() -> chunkedUploadService.writeChunk(authentication.getName(), uploadId, offset, request.getInputStream()));
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<?> completeUpload(Authentication authentication, @PathVariable String uploadId) {
+        return uploadResponse(() -> {
+            String folder = chunkedUploadService.folderOf(authentication.getName(), uploadId);
+            String fileUrl = chunkedUploadService.complete(authentication.getName(), uploadId);
+            attachFile(authentication, folder, fileUrl);
+            return fileUrl;
+        });
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<?> cancelUpload(Authentication authentication, @PathVariable String uploadId) {
+        return uploadResponse(() -> {
+            chunkedUploadService.cancel(authentication.getName(), uploadId);
+            return "Upload cancelled";
+        });
+    }
+
+    private interface UploadStep {
+        Object run() throws IOException;
+    }
+
+    private static ResponseEntity<?> uploadResponse(UploadStep step) {
+        try {
+            return ResponseEntity.ok(step.run());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + e.getMessage());
+        } catch (IOException e) {
+            throw new RuntimeException("Upload failed", e);
+        }
+    }
+
+    /**
+     * Points the profile at a newly stored file in a short transaction of its own. The file it
+     * replaces goes once this commits; if the attach fails, the new file is deleted instead.
+     */
+    private void attachFile(Authentication authentication, String folder, String fileUrl) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                User user = userRepository.findByEmail(authentication.getName()).orElseThrow(() -> new UsernameNotFoundException("User not found"));
+                // Locked like updateProfile, so a concurrent edit isn't overwritten with stale fields
+                UserProfile profile = userProfileRepository.findByUserForUpdate(user).orElse(new UserProfile());
+                if(profile.getUser() == null) profile.setUser(user);
+                boolean created = profile.getId() == null;
+                if ("profile-pictures".equals(folder)) {
+                    if(profile.getProfilePictureUrl() != null) fileDeletionQueue.deleteAfterCommit(profile.getProfilePictureUrl());
+                    profile.setProfilePictureUrl(fileUrl);
+                } else {
+                    if(profile.getResumeUrl() != null) fileDeletionQueue.deleteAfterCommit(profile.getResumeUrl());
+                    profile.setResumeUrl(fileUrl);
+                }
+                profile = userProfileRepository.save(profile);
+                if (created) profileOutbox.recordEdit(profile.getId(), null, ProfileFacts.of(profile)); // counted in analytics too
+                profileOutbox.record(profile.getId(), "profile-pictures".equals(folder) ? ProfileOutbox.PHOTO : ProfileOutbox.RESUME);
+            });
+        } catch (RuntimeException e) {
+            fileDeletionQueue.deleteAfterCommit(fileUrl); // no transaction here, so it is queued right away
+            throw e;
+        }
+    }
+}
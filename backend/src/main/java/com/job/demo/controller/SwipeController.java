@@ -0,0 +1,47 @@
+package com.job.demo.controller;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.job.demo.dto.SwipeRequest;
+import com.job.demo.service.SeenJobsService;
+
+@RestController
+@RequestMapping("/api/swipes")
+public class SwipeController {
+
+    @Autowired
+    private SeenJobsService seenJobsService;
+
+    @PostMapping
+    public ResponseEntity<?> swipe(Authentication authentication, @RequestBody SwipeRequest request) {
+        if (request.getJobId() <= 0 || request.getJobId() > Integer.MAX_VALUE) {
+            return ResponseEntity.badRequest().body("Error: Invalid job id");
+        }
+        boolean liked;
+        if ("like".equalsIgnoreCase(request.getDirection())) {
+            liked = true;
+        } else if ("pass".equalsIgnoreCase(request.getDirection())) {
+            liked = false;
+        } else {
+            return ResponseEntity.badRequest().body("Error: direction must be 'like' or 'pass'");
+        }
+
+        seenJobsService.recordSwipe(authentication.getName(), (int) request.getJobId(), liked);
+        return ResponseEntity.ok("Swipe recorded");
+    }
+
+    @GetMapping("/liked")
+    public ResponseEntity<List<Integer>> likedJobs(Authentication authentication) {
+        return ResponseEntity.ok(Arrays.stream(seenJobsService.likedJobs(authentication.getName())).boxed().toList());
+    }
+}
@@ -0,0 +1,24 @@
+package com.job.demo.dto;
+
+public class CandidateSummary {
+    private Long profileId;
+    private String fullName;
+    private String targetRole;
+    private int experienceYears;
+    private String preferredLocation;
+    private boolean remoteOnly;
+
+    // Getters and Setters
+    public Long getProfileId() { return profileId; }
+    public void setProfileId(Long profileId) { this.profileId = profileId; }
+    public String getFullName() { return fullName; }
+    public void setFullName(String fullName) { this.fullName = fullName; }
+    public String getTargetRole() { return targetRole; }
+    public void setTargetRole(String targetRole) { this.targetRole = targetRole; }
+    public int getExperienceYears() { return experienceYears; }
+    public void setExperienceYears(int experienceYears) { this.experienceYears = experienceYears; }
+    public String getPreferredLocation() { return preferredLocation; }
+    public void setPreferredLocation(String preferredLocation) { this.preferredLocation = preferredLocation; }
+    public boolean isRemoteOnly() { return remoteOnly; }
+    public void setRemoteOnly(boolean remoteOnly) { this.remoteOnly = remoteOnly; }
+}
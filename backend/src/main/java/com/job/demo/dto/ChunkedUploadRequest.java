@@ -0,0 +1,21 @@
+package com.job.demo.dto;
+
+public class ChunkedUploadRequest {
+    private String fileName;
+    // Must match the target: an image type for photos, PDF or Word for resumes
+    private String contentType;
+    // Total size in bytes; the file is preallocated to exactly this
+    private long size;
+    // Hex SHA-256 of the whole file, checked when the upload is completed (optional)
+    private String sha256;
+
+    // Getters and Setters
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+}
@@ -0,0 +1,24 @@
+package com.job.demo.dto;
+
+import java.util.List;
+
+// What a client needs to (re)send: every chunk starts at a multiple of chunkSize
+public class ChunkedUploadStatus {
+    private String uploadId;
+    private long size;
+    private int chunkSize;
+    private long receivedBytes;
+    private List<Long> missingOffsets;
+
+    // Getters and Setters
+    public String getUploadId() { return uploadId; }
+    public void setUploadId(String uploadId) { this.uploadId = uploadId; }
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+    public long getReceivedBytes() { return receivedBytes; }
+    public void setReceivedBytes(long receivedBytes) { this.receivedBytes = receivedBytes; }
+    public List<Long> getMissingOffsets() { return missingOffsets; }
+    public void setMissingOffsets(List<Long> missingOffsets) { this.missingOffsets = missingOffsets; }
+}
@@ -0,0 +1,40 @@
+package com.job.demo.dto;
+
+public class FileCacheStats {
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long admissions;
+    // Candidates turned away because the entries they would displace are used more often
+    private long rejections;
+    private long evictions;
+    private long evictedBytes;
+    private long invalidations;
+    private int entries;
+    private long usedBytes;
+    private long maxBytes;
+
+    // Getters and Setters
+    public long getHits() { return hits; }
+    public void setHits(long hits) { this.hits = hits; }
+    public long getMisses() { return misses; }
+    public void setMisses(long misses) { this.misses = misses; }
+    public double getHitRate() { return hitRate; }
+    public void setHitRate(double hitRate) { this.hitRate = hitRate; }
+    public long getAdmissions() { return admissions; }
+    public void setAdmissions(long admissions) { this.admissions = admissions; }
+    public long getRejections() { return rejections; }
+    public void setRejections(long rejections) { this.rejections = rejections; }
+    public long getEvictions() { return evictions; }
+    public void setEvictions(long evictions) { this.evictions = evictions; }
+    public long getEvictedBytes() { return evictedBytes; }
+    public void setEvictedBytes(long evictedBytes) { this.evictedBytes = evictedBytes; }
+    public long getInvalidations() { return invalidations; }
+    public void setInvalidations(long invalidations) { this.invalidations = invalidations; }
+    public int getEntries() { return entries; }
+    public void setEntries(int entries) { this.entries = entries; }
+    public long getUsedBytes() { return usedBytes; }
+    public void setUsedBytes(long usedBytes) { this.usedBytes = usedBytes; }
+    public long getMaxBytes() { return maxBytes; }
+    public void setMaxBytes(long maxBytes) { this.maxBytes = maxBytes; }
+}
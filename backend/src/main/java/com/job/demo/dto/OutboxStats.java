@@ -0,0 +1,36 @@
+package com.job.demo.dto;
+
+public class OutboxStats {
+    private long pendingEvents;
+    // Age of the oldest undelivered event; 0 when the outbox is empty
+    private long oldestPendingAgeMs;
+    private long deliveredEvents;
+    // Deliveries after coalescing events for the same profile
+    private long deliveredChanges;
+    private long batches;
+    private long failedBatches;
+    // Commit-to-delivery delay of the oldest event in the last batch, and the worst seen
+    private long lastLagMs;
+    private long maxLagMs;
+    private String lastError;
+
+    // Getters and Setters
+    public long getPendingEvents() { return pendingEvents; }
+    public void setPendingEvents(long pendingEvents) { this.pendingEvents = pendingEvents; }
+    public long getOldestPendingAgeMs() { return oldestPendingAgeMs; }
+    public void setOldestPendingAgeMs(long oldestPendingAgeMs) { this.oldestPendingAgeMs = oldestPendingAgeMs; }
+    public long getDeliveredEvents() { return deliveredEvents; }
+    public void setDeliveredEvents(long deliveredEvents) { this.deliveredEvents = deliveredEvents; }
+    public long getDeliveredChanges() { return deliveredChanges; }
+    public void setDeliveredChanges(long deliveredChanges) { this.deliveredChanges = deliveredChanges; }
+    public long getBatches() { return batches; }
+    public void setBatches(long batches) { this.batches = batches; }
+    public long getFailedBatches() { return failedBatches; }
+    public void setFailedBatches(long failedBatches) { this.failedBatches = failedBatches; }
+    public long getLastLagMs() { return lastLagMs; }
+    public void setLastLagMs(long lastLagMs) { this.lastLagMs = lastLagMs; }
+    public long getMaxLagMs() { return maxLagMs; }
+    public void setMaxLagMs(long maxLagMs) { this.maxLagMs = maxLagMs; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
@@ -0,0 +1,13 @@
+package com.job.demo.dto;
+
+public class SwipeRequest {
+    private long jobId;
+    // "like" (swipe right) or "pass" (swipe left)
+    private String direction;
+
+    // Getters and Setters
+    public long getJobId() { return jobId; }
+    public void setJobId(long jobId) { this.jobId = jobId; }
+    public String getDirection() { return direction; }
+    public void setDirection(String direction) { this.direction = direction; }
+}
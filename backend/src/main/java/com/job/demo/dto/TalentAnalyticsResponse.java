@@ -0,0 +1,44 @@
+package com.job.demo.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class TalentAnalyticsResponse {
+    private RoleSummary overall;
+    private List<RoleSummary> roles;
+    // Skill name -> number of profiles listing it, most popular first
+    private Map<String, Long> topSkills;
+
+    public static class RoleSummary {
+        private String role;
+        private long profiles;
+        private long remoteOnly;
+        // "p10", "p25", "p50", "p75", "p90" -> minSalary at that percentile
+        private Map<String, Long> minSalaryPercentiles;
+        // Index = years of experience, last bucket is 40+
+        private long[] experienceHistogram;
+        // Preferred location -> profiles that are not remote-only
+        private Map<String, Long> locations;
+
+        public String getRole() { return role; }
+        public void setRole(String role) { this.role = role; }
+        public long getProfiles() { return profiles; }
+        public void setProfiles(long profiles) { this.profiles = profiles; }
+        public long getRemoteOnly() { return remoteOnly; }
+        public void setRemoteOnly(long remoteOnly) { this.remoteOnly = remoteOnly; }
+        public Map<String, Long> getMinSalaryPercentiles() { return minSalaryPercentiles; }
+        public void setMinSalaryPercentiles(Map<String, Long> minSalaryPercentiles) { this.minSalaryPercentiles = minSalaryPercentiles; }
+        public long[] getExperienceHistogram() { return experienceHistogram; }
+        public void setExperienceHistogram(long[] experienceHistogram) { this.experienceHistogram = experienceHistogram; }
+        public Map<String, Long> getLocations() { return locations; }
+        public void setLocations(Map<String, Long> locations) { this.locations = locations; }
+    }
+
+    // Getters and Setters
+    public RoleSummary getOverall() { return overall; }
+    public void setOverall(RoleSummary overall) { this.overall = overall; }
+    public List<RoleSummary> getRoles() { return roles; }
+    public void setRoles(List<RoleSummary> roles) { this.roles = roles; }
+    public Map<String, Long> getTopSkills() { return topSkills; }
+    public void setTopSkills(Map<String, Long> topSkills) { this.topSkills = topSkills; }
+}
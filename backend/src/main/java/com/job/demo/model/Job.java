@@ -0,0 +1,108 @@
+package com.job.demo.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Mirrors the Job type the frontend renders (frontend/src/types/jobs.ts)
+@Entity
+@Table(name = "jobs")
+public class Job {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String title;
+    private String company;
+    private String companyLogo;
+    private double rating;
+    private String location;
+    private String jobType;
+    private String workMode;
+    private String category;
+
+    // Salary as posted: amount per unit ("month", "year" or "hour")
+    private Integer salaryAmount;
+    private String salaryCurrency;
+    private String salaryUnit;
+    // Yearly amount in INR, derived on save so it compares directly with UserProfile.minSalary
+    private Integer annualSalary;
+
+    private String postedAgo;
+    // postedAgo is only for display; these drive ranking and expiry
+    private Instant postedAt;
+    private Instant expiresAt;
+
+    @Column(length = 5000)
+    private String description;
+
+    @Column(length = 1000)
+    private String applyUrl;
+
+    // --- NORMALIZED LOCATION (filled in by LocationNormalizer on save) ---
+    private String placeName;
+    private String countryCode;
+    private Double latitude;
+    private Double longitude;
+    private boolean remote;
+
+    // Set when this posting is a repost of another one; only canonical postings reach the feed
+    private Long canonicalJobId;
+
+    // --- Getters and Setters ---
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public String getCompany() { return company; }
+    public void setCompany(String company) { this.company = company; }
+    public String getCompanyLogo() { return companyLogo; }
+    public void setCompanyLogo(String companyLogo) { this.companyLogo = companyLogo; }
+    public double getRating() { return rating; }
+    public void setRating(double rating) { this.rating = rating; }
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+    public String getJobType() { return jobType; }
+    public void setJobType(String jobType) { this.jobType = jobType; }
+    public String getWorkMode() { return workMode; }
+    public void setWorkMode(String workMode) { this.workMode = workMode; }
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    public Integer getSalaryAmount() { return salaryAmount; }
+    public void setSalaryAmount(Integer salaryAmount) { this.salaryAmount = salaryAmount; }
+    public String getSalaryCurrency() { return salaryCurrency; }
+    public void setSalaryCurrency(String salaryCurrency) { this.salaryCurrency = salaryCurrency; }
+    public String getSalaryUnit() { return salaryUnit; }
+    public void setSalaryUnit(String salaryUnit) { this.salaryUnit = salaryUnit; }
+    public Integer getAnnualSalary() { return annualSalary; }
+    public void setAnnualSalary(Integer annualSalary) { this.annualSalary = annualSalary; }
+    public String getPostedAgo() { return postedAgo; }
+    public void setPostedAgo(String postedAgo) { this.postedAgo = postedAgo; }
+    public Instant getPostedAt() { return postedAt; }
+    public void setPostedAt(Instant postedAt) { this.postedAt = postedAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public String getApplyUrl() { return applyUrl; }
+    public void setApplyUrl(String applyUrl) { this.applyUrl = applyUrl; }
+
+    public String getPlaceName() { return placeName; }
+    public void setPlaceName(String placeName) { this.placeName = placeName; }
+    public String getCountryCode() { return countryCode; }
+    public void setCountryCode(String countryCode) { this.countryCode = countryCode; }
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    public boolean isRemote() { return remote; }
+    public void setRemote(boolean remote) { this.remote = remote; }
+    public Long getCanonicalJobId() { return canonicalJobId; }
+    public void setCanonicalJobId(Long canonicalJobId) { this.canonicalJobId = canonicalJobId; }
+}
@@ -0,0 +1,44 @@
+package com.job.demo.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * "This job changed (or is gone), reload it." Written only through JobOutbox, read by every
+ * instance's JobOutboxDispatcher and removed by age once all of them have had it.
+ */
+@Entity
+@Table(name = "job_outbox")
+public class JobOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public JobOutboxEvent() { }
+
+    public JobOutboxEvent(Long jobId) {
+        this.jobId = jobId;
+        this.createdAt = Instant.now();
+    }
+
+    // --- Getters and Setters ---
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getJobId() { return jobId; }
+    public void setJobId(Long jobId) { this.jobId = jobId; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,62 @@
+package com.job.demo.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * One profile change. Written only through ProfileOutbox, read by every instance's
+ * ProfileOutboxDispatcher and removed by age once all of them have had it.
+ */
+@Entity
+@Table(name = "profile_outbox")
+public class ProfileOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "profile_id", nullable = false)
+    private Long profileId;
+
+    // "profile", "photo" or "resume"
+    @Column(name = "change_type", nullable = false, length = 32)
+    private String changeType;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // ProfileFacts as JSON, only on edits that can change the talent analytics
+    @Column(name = "facts_before", columnDefinition = "TEXT")
+    private String factsBefore;
+
+    @Column(name = "facts_after", columnDefinition = "TEXT")
+    private String factsAfter;
+
+    public ProfileOutboxEvent() { }
+
+    public ProfileOutboxEvent(Long profileId, String changeType) {
+        this.profileId = profileId;
+        this.changeType = changeType;
+        this.createdAt = Instant.now();
+    }
+
+    // --- Getters and Setters ---
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getProfileId() { return profileId; }
+    public void setProfileId(Long profileId) { this.profileId = profileId; }
+    public String getChangeType() { return changeType; }
+    public void setChangeType(String changeType) { this.changeType = changeType; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public String getFactsBefore() { return factsBefore; }
+    public void setFactsBefore(String factsBefore) { this.factsBefore = factsBefore; }
+    public String getFactsAfter() { return factsAfter; }
+    public void setFactsAfter(String factsAfter) { this.factsAfter = factsAfter; }
+}
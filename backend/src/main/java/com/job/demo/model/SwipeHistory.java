@@ -0,0 +1,48 @@
+package com.job.demo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+/**
+ * Compact per-user swipe record: serialized Roaring bitmaps of job ids.
+ * Read and written only through SeenJobsService, which keeps the live bitmaps in memory.
+ */
+@Entity
+@Table(name = "swipe_history")
+public class SwipeHistory {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Lob
+    @Column(name = "seen_jobs", columnDefinition = "LONGBLOB")
+    private byte[] seenJobs;
+
+    @Lob
+    @Column(name = "liked_jobs", columnDefinition = "LONGBLOB")
+    private byte[] likedJobs;
+
+    @Version
+    private long version;
+
+    public SwipeHistory() { }
+
+    public SwipeHistory(Long userId) {
+        this.userId = userId;
+    }
+
+    // --- Getters and Setters ---
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public byte[] getSeenJobs() { return seenJobs; }
+    public void setSeenJobs(byte[] seenJobs) { this.seenJobs = seenJobs; }
+    public byte[] getLikedJobs() { return likedJobs; }
+    public void setLikedJobs(byte[] likedJobs) { this.likedJobs = likedJobs; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
@@ -45,6 +45,11 @@ public class UserProfile {
     private String preferredLocation;
     private int minSalary;
 
+    // --- NORMALIZED PREFERRED LOCATION (filled in by LocationNormalizer on save) ---
+    private String preferredPlace;
+    private Double preferredLatitude;
+    private Double preferredLongitude;
+
     // --- LEGACY COLUMNS (Kept to prevent errors with existing data) ---
     @Column(name = "github_profile")
     private String githubProfile;
@@ -85,6 +90,12 @@ public class UserProfile {
     public void setPreferredLocation(String loc) { this.preferredLocation = loc; }
     public int getMinSalary() { return minSalary; }
     public void setMinSalary(int salary) { this.minSalary = salary; }
+    public String getPreferredPlace() { return preferredPlace; }
+    public void setPreferredPlace(String preferredPlace) { this.preferredPlace = preferredPlace; }
+    public Double getPreferredLatitude() { return preferredLatitude; }
+    public void setPreferredLatitude(Double preferredLatitude) { this.preferredLatitude = preferredLatitude; }
+    public Double getPreferredLongitude() { return preferredLongitude; }
+    public void setPreferredLongitude(Double preferredLongitude) { this.preferredLongitude = preferredLongitude; }
     public Set<Skill> getSkills() { return skills; }
     public void setSkills(Set<Skill> skills) { this.skills = skills; }
     
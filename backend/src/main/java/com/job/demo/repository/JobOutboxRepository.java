@@ -0,0 +1,28 @@
+package com.job.demo.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.job.demo.model.JobOutboxEvent;
+
+public interface JobOutboxRepository extends JpaRepository<JobOutboxEvent, Long> {
+    // Same cursor scheme as ProfileOutboxRepository
+    @Query(value = "SELECT * FROM job_outbox WHERE id > :after AND id <= :through AND created_at <= :settledBefore"
+            + " ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<JobOutboxEvent> findNextBatch(@Param("after") long after, @Param("through") long through,
+                                       @Param("settledBefore") Instant settledBefore, @Param("limit") int limit);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM JobOutboxEvent e WHERE e.createdAt <= :settledBefore")
+    long findLastIdBefore(@Param("settledBefore") Instant settledBefore);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM job_outbox WHERE created_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteOlderThan(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
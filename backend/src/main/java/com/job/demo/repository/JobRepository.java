@@ -0,0 +1,31 @@
+package com.job.demo.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.job.demo.model.Job;
+
+public interface JobRepository extends JpaRepository<Job, Long> {
+    List<Job> findByCanonicalJobIdOrderByIdAsc(Long canonicalJobId);
+
+    // Matches only while the repost still points at the old posting, so one promotion wins when instances race
+    @Modifying
+    @Query(value = "UPDATE jobs SET canonical_job_id = NULL WHERE id = :repostId AND canonical_job_id = :canonicalId",
+            nativeQuery = true)
+    int claimCanonical(@Param("repostId") long repostId, @Param("canonicalId") long canonicalId);
+
+    @Modifying
+    @Query(value = "UPDATE jobs SET canonical_job_id = :newCanonicalId WHERE canonical_job_id = :canonicalId",
+            nativeQuery = true)
+    int repointReposts(@Param("canonicalId") long canonicalId, @Param("newCanonicalId") long newCanonicalId);
+
+    // Canonical postings that expired while still having a live repost
+    @Query(value = "SELECT DISTINCT c.id FROM jobs c JOIN jobs r ON r.canonical_job_id = c.id"
+            + " WHERE c.canonical_job_id IS NULL AND c.expires_at <= NOW(3)"
+            + " AND (r.expires_at IS NULL OR r.expires_at > NOW(3))", nativeQuery = true)
+    List<Long> findExpiredWithLiveReposts();
+}
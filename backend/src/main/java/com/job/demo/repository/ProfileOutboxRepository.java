@@ -0,0 +1,33 @@
+package com.job.demo.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.job.demo.model.ProfileOutboxEvent;
+
+public interface ProfileOutboxRepository extends JpaRepository<ProfileOutboxEvent, Long> {
+    // Read-only: every instance reads every event, each from its own cursor
+    @Query(value = "SELECT * FROM profile_outbox WHERE id > :after AND id <= :through AND created_at <= :settledBefore"
+            + " ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<ProfileOutboxEvent> findNextBatch(@Param("after") long after, @Param("through") long through,
+                                           @Param("settledBefore") Instant settledBefore, @Param("limit") int limit);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM ProfileOutboxEvent e WHERE e.createdAt <= :settledBefore")
+    long findLastIdBefore(@Param("settledBefore") Instant settledBefore);
+
+    long countByIdGreaterThan(long id);
+
+    Optional<ProfileOutboxEvent> findFirstByIdGreaterThanOrderByIdAsc(long id);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM profile_outbox WHERE created_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteOlderThan(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
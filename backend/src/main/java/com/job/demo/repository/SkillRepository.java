@@ -4,8 +4,10 @@ package com.job.demo.repository;
 
 import com.job.demo.model.Skill;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 
 public interface SkillRepository extends JpaRepository<Skill, Long> {
+    @Transactional(readOnly = true)
     Optional<Skill> findByName(String name);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.job.demo.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.job.demo.model.SwipeHistory;
+
+public interface SwipeHistoryRepository extends JpaRepository<SwipeHistory, Long> {
+}
@@ -3,11 +3,23 @@ package com.job.demo.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.job.demo.model.User;
 import com.job.demo.model.UserProfile;
 
+import jakarta.persistence.LockModeType;
+
 public interface UserProfileRepository extends JpaRepository<UserProfile, Long> {
     // Add this method to safely fetch profile by user
+    @Transactional(readOnly = true)
     Optional<UserProfile> findByUser(User user);
+
+    // SELECT ... FOR UPDATE on the primary; edits of one profile queue behind each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM UserProfile p WHERE p.user = :user")
+    Optional<UserProfile> findByUserForUpdate(@Param("user") User user);
 }
\ No newline at end of file
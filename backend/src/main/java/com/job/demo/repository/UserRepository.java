@@ -1,7 +1,10 @@
 package com.job.demo.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import com.job.demo.model.User;
 import java.util.Optional;
 
@@ -10,5 +13,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // Spring Data JPA automatically creates a query for this method
     // It will find a User by their email
+    // Read-only so it can be served by a replica when read/write routing is on
+    @Transactional(readOnly = true)
     Optional<User> findByEmail(String email);
+
+    // Always on the primary: login and registration can't tolerate replica lag
+    // (a just-registered user must be found, a just-taken email must be seen)
+    @Transactional
+    @Query("SELECT u FROM User u WHERE u.email = :email")
+    Optional<User> findByEmailOnPrimary(@Param("email") String email);
 }
@@ -0,0 +1,301 @@
+package com.job.demo.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.job.demo.dto.ChunkedUploadRequest;
+import com.job.demo.dto.ChunkedUploadStatus;
+
+/**
+ * Resumable uploads for resumes and photos.
+ *
+ * A session preallocates a temp file of the announced size. Each chunk is streamed from the
+ * request body straight into its place in that file with positional FileChannel writes, so no
+ * request ever holds more than a small copy buffer. A client that lost its connection asks
+ * which chunks are missing and sends only those. On completion the file is checked (every
+ * chunk present, SHA-256 matches) and moved into the storage backend.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // The temp file has no extension to guess from, so the client declares the type up front
+    private static final Map<String, Set<String>> CONTENT_TYPES = Map.of(
+            "profile-pictures", Set.of("image/jpeg", "image/png", "image/webp", "image/gif"),
+            "resumes", Set.of("application/pdf", "application/msword",
+                    "application/vnd.openxmlformats-officedocument.wordprocessingml.document"));
+
+    private final FileStorageService fileStorageService;
+    private final DataSize maxFileSize;
+    private final int chunkSize;
+    private final Duration sessionTtl;
+    private final int maxSessionsPerUser;
+    private final Path incomingDir;
+
+    private static class Session {
+        final String id;
+        final String owner;
+        final String folder;
+        final String fileName;
+        final String contentType;
+        final long size;
+        final int chunkSize;
+        final int chunkCount;
+        final String sha256;
+        final Path file;
+        final BitSet received;
+        volatile long lastActivity = System.currentTimeMillis();
+        volatile boolean finished;
+
+        Session(String id, String owner, String folder, String fileName, String contentType, long size, int chunkSize,
+                String sha256, Path file) {
+            this.id = id;
+            this.owner = owner;
+            this.folder = folder;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.size = size;
+            this.chunkSize = chunkSize;
+            this.chunkCount = (int) ((size + chunkSize - 1) / chunkSize);
+            this.sha256 = sha256;
+            this.file = file;
+            this.received = new BitSet(chunkCount);
+        }
+
+        long lengthOf(int chunk) {
+            return Math.min(chunkSize, size - (long) chunk * chunkSize);
+        }
+    }
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    // Kept on the same disk as local storage by default, so completing an upload is a rename
+    @Autowired
+    public ChunkedUploadService(FileStorageService fileStorageService,
+                                @Value("${app.uploads.chunked.dir:${app.storage.local.root:uploads}/.incoming}") String incomingDir,
+                                @Value("${app.uploads.chunked.max-file-size:10MB}") DataSize maxFileSize,
+                                @Value("${app.uploads.chunked.chunk-size:256KB}") DataSize chunkSize,
+                                @Value("${app.uploads.chunked.session-ttl:24h}") Duration sessionTtl,
+                                @Value("${app.uploads.chunked.max-sessions-per-user:4}") int maxSessionsPerUser) {
+        this.fileStorageService = fileStorageService;
+        this.maxFileSize = maxFileSize;
+        this.chunkSize = (int) chunkSize.toBytes();
+        this.sessionTtl = sessionTtl;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.incomingDir = Paths.get(incomingDir).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.incomingDir);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create upload directories!", ex);
+        }
+    }
+
+    public ChunkedUploadStatus create(String owner, String folder, ChunkedUploadRequest request) {
+        if (!FileStorageService.FOLDERS.contains(folder)) {
+            throw new IllegalArgumentException("Unknown upload folder: " + folder);
+        }
+        if (request.getSize() <= 0 || request.getSize() > maxFileSize.toBytes()) {
+            throw new IllegalArgumentException("File size must be between 1 byte and " + maxFileSize);
+        }
+        if (request.getFileName() == null || request.getFileName().isBlank()) {
+            throw new IllegalArgumentException("File name is required");
+        }
+        String contentType = request.getContentType() == null ? null : request.getContentType().trim().toLowerCase(Locale.ROOT);
+        if (contentType == null || !CONTENT_TYPES.get(folder).contains(contentType)) {
+            throw new IllegalArgumentException("contentType must be one of " + CONTENT_TYPES.get(folder));
+        }
+        if (request.getSha256() != null && !request.getSha256().matches("(?i)[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("sha256 must be 64 hex characters");
+        }
+        long open = sessions.values().stream().filter(s -> s.owner.equals(owner)).count();
+        if (open >= maxSessionsPerUser) {
+            throw new IllegalStateException("Too many uploads in progress");
+        }
+
+        String id = UUID.randomUUID().toString();
+        Path file = incomingDir.resolve(id);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(request.getSize()); // preallocate; chunks are written in place
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create upload " + id, ex);
+        }
+        Session session = new Session(id, owner, folder, request.getFileName(), contentType, request.getSize(),
+                chunkSize, request.getSha256(), file);
+        sessions.put(id, session);
+        return statusOf(session);
+    }
+
+    public ChunkedUploadStatus status(String owner, String uploadId) {
+        return statusOf(sessionOf(owner, uploadId));
+    }
+
+    public String folderOf(String owner, String uploadId) {
+        return sessionOf(owner, uploadId).folder;
+    }
+
+    /** Writes one chunk; offset must be a multiple of the chunk size and the body exactly that chunk. */
+    public ChunkedUploadStatus writeChunk(String owner, String uploadId, long offset, InputStream body) throws IOException {
+        Session session = sessionOf(owner, uploadId);
+        if (session.finished) throw new IllegalStateException("Upload already completed");
+        if (offset < 0 || offset >= session.size || offset % session.chunkSize != 0) {
+            throw new IllegalArgumentException("Offset must be a multiple of " + session.chunkSize + " below " + session.size);
+        }
+        int chunk = (int) (offset / session.chunkSize);
+        long length = session.lengthOf(chunk);
+        session.lastActivity = System.currentTimeMillis();
+
+        long written = 0;
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        try (FileChannel channel = FileChannel.open(session.file, StandardOpenOption.WRITE)) {
+            int read;
+            while ((read = body.read(buffer, 0, (int) Math.min(buffer.length, length - written + 1))) != -1) {
+                if (written + read > length) {
+                    throw new IllegalArgumentException("Chunk at offset " + offset + " must be " + length + " bytes");
+                }
+                ByteBuffer src = ByteBuffer.wrap(buffer, 0, read);
+                while (src.hasRemaining()) written += channel.write(src, offset + written);
+            }
+        }
+        if (written != length) {
+            throw new IllegalArgumentException("Chunk at offset " + offset + " must be " + length + " bytes, got " + written);
+        }
+        synchronized (session) {
+            session.received.set(chunk);
+        }
+        return statusOf(session);
+    }
+
+    /**
+     * Verifies the upload and moves it into storage. Returns the stored file's URL; the session
+     * is gone afterwards whether the check passed or not, except when chunks are still missing.
+     */
+    public String complete(String owner, String uploadId) throws IOException {
+        Session session = sessionOf(owner, uploadId);
+        synchronized (session) {
+            if (session.finished) throw new IllegalStateException("Upload already completed");
+            if (session.received.cardinality() != session.chunkCount) {
+                throw new IllegalStateException("Upload is missing " + (session.chunkCount - session.received.cardinality()) + " chunk(s)");
+            }
+            session.finished = true;
+        }
+        try {
+            if (session.sha256 != null && !session.sha256.equalsIgnoreCase(sha256Of(session.file))) {
+                throw new IllegalArgumentException("Checksum mismatch, the upload has to be restarted");
+            }
+            return fileStorageService.storeFile(session.file, session.fileName, session.contentType, session.folder);
+        } finally {
+            discard(session);
+        }
+    }
+
+    public void cancel(String owner, String uploadId) {
+        discard(sessionOf(owner, uploadId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.uploads.chunked.cleanup-interval-ms:600000}")
+    public void removeStaleSessions() {
+        long cutoff = System.currentTimeMillis() - sessionTtl.toMillis();
+        for (Session session : sessions.values()) {
+            if (session.lastActivity < cutoff && !session.finished) discard(session);
+        }
+        removeAbandonedFiles(cutoff);
+    }
+
+    // Files left by a restart, or by another instance sharing the directory. Chunk writes keep a
+    // live upload's modification time fresh, so anything untouched for a whole TTL is dead.
+    private void removeAbandonedFiles(long cutoff) {
+        try (Stream<Path> files = Files.list(incomingDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (sessions.containsKey(file.getFileName().toString())) continue;
+                try {
+                    if (Files.getLastModifiedTime(file).toMillis() < cutoff) Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    System.err.println("Warning: Could not delete abandoned upload " + file + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Could not list " + incomingDir + ": " + e.getMessage());
+        }
+    }
+
+    private void discard(Session session) {
+        sessions.remove(session.id, session);
+        try {
+            Files.deleteIfExists(session.file);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not delete upload " + session.file + ": " + e.getMessage());
+        }
+    }
+
+    private Session sessionOf(String owner, String uploadId) {
+        Session session = sessions.get(uploadId);
+        // Someone else's upload id is treated like an unknown one
+        if (session == null || !session.owner.equals(owner)) {
+            throw new IllegalArgumentException("Unknown or expired upload: " + uploadId);
+        }
+        return session;
+    }
+
+    private static ChunkedUploadStatus statusOf(Session session) {
+        ChunkedUploadStatus status = new ChunkedUploadStatus();
+        status.setUploadId(session.id);
+        status.setSize(session.size);
+        status.setChunkSize(session.chunkSize);
+        List<Long> missing = new ArrayList<>();
+        long received = 0;
+        synchronized (session) {
+            for (int chunk = 0; chunk < session.chunkCount; chunk++) {
+                if (session.received.get(chunk)) received += session.lengthOf(chunk);
+                else missing.add((long) chunk * session.chunkSize);
+            }
+        }
+        status.setReceivedBytes(received);
+        status.setMissingOffsets(missing);
+        return status;
+    }
+
+    private static String sha256Of(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(COPY_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
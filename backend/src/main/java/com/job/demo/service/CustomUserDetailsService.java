@@ -22,7 +22,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         // Here, "username" is actually the email
 
         // 1. Find the user in your database by their email
-        User user = userRepository.findByEmail(username)
+        User user = userRepository.findByEmailOnPrimary(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
 
         // 2. Return a Spring Security "UserDetails" object
@@ -0,0 +1,97 @@
+package com.job.demo.service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.job.demo.model.UserProfile;
+import com.job.demo.repository.UserProfileRepository;
+
+/**
+ * Each user's ranked feed deck, so paging through the feed doesn't re-rank every match on
+ * every request. Decks are never rewritten: swipes and jobs that have since expired or been
+ * deleted are skipped when the deck is read, and a profile change drops that user's deck.
+ */
+@Service
+public class FeedDeckCache implements ProfileChangeHandler {
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Value("${app.feed.deck-ttl:5m}")
+    private Duration deckTtl;
+
+    @Value("${app.feed.max-cached-decks:20000}")
+    private int maxCachedDecks;
+
+    public static class Deck {
+        // The request parameters the deck was ranked for
+        private final String query;
+        private final int[] jobIds;
+        // More jobs matched than fit in the deck, so re-ranking can surface new ones
+        private final boolean truncated;
+        private final long builtAt;
+
+        Deck(String query, int[] jobIds, boolean truncated, long builtAt) {
+            this.query = query;
+            this.jobIds = jobIds;
+            this.truncated = truncated;
+            this.builtAt = builtAt;
+        }
+
+        public int[] getJobIds() { return jobIds; }
+        public boolean isTruncated() { return truncated; }
+    }
+
+    private final Map<String, Deck> decks = new ConcurrentHashMap<>();
+
+    /** The ranked deck cached for this user and query, or null if there's no fresh one. */
+    public Deck get(String email, String query) {
+        Deck deck = decks.get(email);
+        if (deck == null || !deck.query.equals(query)) return null;
+        if (System.currentTimeMillis() - deck.builtAt > deckTtl.toMillis()) {
+            decks.remove(email, deck);
+            return null;
+        }
+        return deck;
+    }
+
+    public Deck put(String email, String query, int[] jobIds, boolean truncated) {
+        if (decks.size() >= maxCachedDecks && !decks.containsKey(email)) makeRoom();
+        Deck deck = new Deck(query, jobIds, truncated, System.currentTimeMillis());
+        decks.put(email, deck);
+        return deck;
+    }
+
+    @Override
+    public void onProfilesChanged(List<ProfileChange> changes) {
+        List<Long> ids = changes.stream()
+                .filter(change -> change.getChangeTypes().contains(ProfileOutbox.PROFILE))
+                .map(ProfileChange::getProfileId)
+                .toList();
+        if (ids.isEmpty() || decks.isEmpty()) return;
+        for (UserProfile profile : userProfileRepository.findAllById(ids)) {
+            if (profile.getUser() != null) decks.remove(profile.getUser().getEmail());
+        }
+    }
+
+    // Drop stale decks; if everything is fresh, drop the oldest one
+    private void makeRoom() {
+        long cutoff = System.currentTimeMillis() - deckTtl.toMillis();
+        decks.values().removeIf(deck -> deck.builtAt < cutoff);
+        if (decks.size() < maxCachedDecks) return;
+        Iterator<Map.Entry<String, Deck>> it = decks.entrySet().iterator();
+        Map.Entry<String, Deck> oldest = null;
+        while (it.hasNext()) {
+            Map.Entry<String, Deck> entry = it.next();
+            if (oldest == null || entry.getValue().builtAt < oldest.getValue().builtAt) oldest = entry;
+        }
+        if (oldest != null) decks.remove(oldest.getKey(), oldest.getValue());
+    }
+}
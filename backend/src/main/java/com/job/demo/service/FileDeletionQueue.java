@@ -0,0 +1,92 @@
+package com.job.demo.service;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Deletes replaced uploads in the background, after the transaction that stopped
+ * referencing them has committed. Failed deletions are retried with backoff; anything
+ * that still fails (or doesn't fit in the queue) is left for OrphanFileSweeper.
+ */
+@Service
+public class FileDeletionQueue {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Value("${app.storage.deletion.max-pending:10000}")
+    private int maxPending;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "file-deletion");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Schedules the file for deletion once the current transaction commits (or right away if there is none). */
+    public void deleteAfterCommit(String fileUrl) {
+        if (fileUrl == null || fileUrl.isEmpty()) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(fileUrl);
+                }
+            });
+        } else {
+            enqueue(fileUrl);
+        }
+    }
+
+    public int getPending() { return pending.get(); }
+    public int getFailed() { return failed.get(); }
+
+    private void enqueue(String fileUrl) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            System.err.println("Warning: Deletion queue full, leaving " + fileUrl + " to the orphan sweeper");
+            return;
+        }
+        worker.execute(() -> attempt(fileUrl, 1));
+    }
+
+    private void attempt(String fileUrl, int attempt) {
+        try {
+            fileStorageService.deleteFile(fileUrl);
+            pending.decrementAndGet();
+        } catch (IllegalArgumentException e) {
+            pending.decrementAndGet();
+            System.err.println("Warning: Not a stored file URL, skipping delete: " + fileUrl);
+        } catch (IOException e) {
+            if (attempt < MAX_ATTEMPTS) {
+                long delaySeconds = 1L << attempt;
+                worker.schedule(() -> attempt(fileUrl, attempt + 1), delaySeconds, TimeUnit.SECONDS);
+            } else {
+                pending.decrementAndGet();
+                failed.incrementAndGet();
+                System.err.println("Warning: Could not delete old file after " + attempt + " attempts: " + fileUrl);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdown();
+    }
+}
@@ -1,62 +1,116 @@
 package com.job.demo.service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
 public class FileStorageService {
 
-    private final Path uploadDir;
+    public static final Set<String> FOLDERS = Set.of("profile-pictures", "resumes");
+    private static final String URL_PREFIX = "/uploads/";
 
-    public FileStorageService() {
-        // Defines the root upload directory
-        this.uploadDir = Paths.get("uploads").toAbsolutePath().normalize();
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    private SmallFileCache smallFileCache;
+
+    // Old flat layout (uploads/<folder>/<file>), still read until the migrator has moved everything
+    private final Path legacyDir;
+
+    public FileStorageService(@Value("${app.storage.legacy-dir:uploads}") String legacyDir) {
+        this.legacyDir = Paths.get(legacyDir).toAbsolutePath().normalize();
+    }
+
+    public Path getLegacyDir() {
+        return legacyDir;
+    }
+
+    public String storeFile(MultipartFile file, String subDir) {
         try {
-            Files.createDirectories(this.uploadDir);
-            Files.createDirectories(this.uploadDir.resolve("profile-pictures"));
-            Files.createDirectories(this.uploadDir.resolve("resumes"));
+            String key = newKey(subDir, file.getOriginalFilename());
+
+            try (InputStream in = file.getInputStream()) {
+                storageBackend.store(key, in, file.getSize(), file.getContentType());
+            }
+
+            // Return the relative URL served by FileServingController
+            return URL_PREFIX + key;
         } catch (IOException ex) {
-            throw new RuntimeException("Could not create upload directories!", ex);
+            throw new RuntimeException("Could not store file " + file.getOriginalFilename(), ex);
         }
     }
 
-    public String storeFile(MultipartFile file, String subDir) {
+    /** Stores a file that was assembled on local disk (chunked uploads); the source is moved, not copied, where possible. */
+    public String storeFile(Path source, String originalFileName, String contentType, String subDir) {
         try {
-            String originalFileName = file.getOriginalFilename();
-            // Generate unique filename to prevent overwriting
-            String fileName = UUID.randomUUID().toString() + "_" + originalFileName;
-            
-            Path targetLocation = this.uploadDir.resolve(subDir).resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            // Return the relative URL compatible with WebMvcConfig
-            return "/uploads/" + subDir + "/" + fileName;
+            String key = newKey(subDir, originalFileName);
+            storageBackend.importFile(key, source, contentType);
+            return URL_PREFIX + key;
         } catch (IOException ex) {
-            throw new RuntimeException("Could not store file " + file.getOriginalFilename(), ex);
+            throw new RuntimeException("Could not store file " + originalFileName, ex);
         }
     }
 
-    // --- THIS IS THE MISSING METHOD ---
-    public void deleteFile(String fileUrl) {
+    // Generate unique filename to prevent overwriting
+    private static String newKey(String subDir, String originalFileName) {
+        String cleanName = StringUtils.getFilename(StringUtils.cleanPath(String.valueOf(originalFileName)));
+        return toKey(subDir, UUID.randomUUID().toString() + "_" + cleanName);
+    }
+
+    /**
+     * Looks the file up in the storage backend (one GET), and only if it isn't there in the
+     * legacy flat layout. Null if missing. While the migrator runs, a file moved between the two
+     * lookups gives one 404; the next request finds it in the backend.
+     */
+    public Resource loadFile(String folder, String fileName) throws IOException {
+        String key = toKey(folder, fileName);
+        Resource resource = storageBackend.load(key);
+        if (resource != null) return resource;
+
+        Path legacy = legacyDir.resolve(folder).resolve(fileName);
+        return Files.isReadable(legacy) ? new FileSystemResource(legacy) : null;
+    }
+
+    /** Removes the file behind a stored URL. Called from FileDeletionQueue, which retries on failure. */
+    public void deleteFile(String fileUrl) throws IOException {
         if (fileUrl == null || fileUrl.isEmpty()) return;
-        try {
-            // Extract filename from URL (e.g., "/uploads/profile-pictures/abc.jpg" -> "abc.jpg")
-            String filename = Paths.get(fileUrl).getFileName().toString();
-            
-            // Determine subdirectory based on URL
-            String subDir = fileUrl.contains("profile-pictures") ? "profile-pictures" : "resumes";
-            
-            Path filePath = this.uploadDir.resolve(subDir).resolve(filename);
-            Files.deleteIfExists(filePath);
-        } catch (IOException e) {
-            System.err.println("Warning: Could not delete old file: " + fileUrl);
+        String key = keyFromUrl(fileUrl);
+        smallFileCache.invalidate(key);
+        storageBackend.delete(key);
+        Files.deleteIfExists(legacyDir.resolve(key));
+        // Again, now the file is gone: a cache fill that read it before the delete must not survive
+        smallFileCache.invalidate(key);
+    }
+
+    // "/uploads/profile-pictures/abc.jpg" -> "profile-pictures/abc.jpg"; the folder is the path
+    // segment right after the prefix, never guessed from the file name
+    public static String keyFromUrl(String fileUrl) {
+        if (!fileUrl.startsWith(URL_PREFIX)) throw new IllegalArgumentException("Not a stored file URL: " + fileUrl);
+        String[] parts = fileUrl.substring(URL_PREFIX.length()).split("/", -1);
+        if (parts.length != 2) throw new IllegalArgumentException("Not a stored file URL: " + fileUrl);
+        return toKey(parts[0], parts[1]);
+    }
+
+    // Keys are "<folder>/<file>"; anything that could escape the folder is rejected
+    public static String toKey(String folder, String fileName) {
+        if (!FOLDERS.contains(folder) || fileName == null || fileName.isEmpty()
+                || fileName.contains("/") || fileName.contains("\\") || fileName.equals("..") || fileName.equals(".")) {
+            throw new IllegalArgumentException("Invalid file location: " + folder + "/" + fileName);
         }
+        return folder + "/" + fileName;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.job.demo.service;
+
+/**
+ * Approximate access counts for TinyLFU admission: a count-min sketch of 4-bit counters,
+ * sixteen to a long. Every counter is halved once enough increments have been seen, so the
+ * sketch tracks recent popularity rather than all-time totals. Not thread-safe.
+ */
+public class FrequencySketch {
+
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    /** @param expectedEntries roughly how many distinct keys are worth telling apart */
+    public FrequencySketch(int expectedEntries) {
+        int size = Integer.highestOneBit(Math.max(64, expectedEntries) - 1) << 1;
+        this.table = new long[size];
+        this.tableMask = size - 1;
+        this.sampleSize = 10 * size;
+    }
+
+    public int frequency(Object key) {
+        long hash = spread(key.hashCode());
+        int frequency = 15;
+        for (int i = 0; i < 4; i++) {
+            frequency = Math.min(frequency, (int) ((table[indexOf(hash, i)] >>> offsetOf(hash, i)) & 0xF));
+        }
+        return frequency;
+    }
+
+    public void increment(Object key) {
+        long hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int offset = offsetOf(hash, i);
+            long mask = 0xFL << offset;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) reset();
+    }
+
+    // Halve every counter so old popularity fades
+    private void reset() {
+        for (int i = 0; i < table.length; i++) table[i] = (table[i] >>> 1) & RESET_MASK;
+        additions /= 2;
+    }
+
+    private int indexOf(long hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    // Bit offset of one of the sixteen 4-bit counters in a slot
+    private static int offsetOf(long hash, int i) {
+        return (int) ((hash >>> (i << 3)) & 15) << 2;
+    }
+
+    private static long spread(int hashCode) {
+        long z = hashCode * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        return z ^ (z >>> 31);
+    }
+}
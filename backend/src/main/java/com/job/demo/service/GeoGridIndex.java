@@ -0,0 +1,178 @@
+package com.job.demo.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * In-memory geohash grid over integer ids (jobs or profiles). Each precision-4 cell
+ * (~39 x 20 km) holds a bitmap of the ids located in it, plus one bitmap for remote entries.
+ *
+ * A radius query unions the cells overlapping the circle's bounding box and then drops the
+ * few corner hits that are really out of range, so its cost depends on the radius, not on
+ * how many entries are indexed. Results are bitmaps so callers can AND them with other filters.
+ */
+public class GeoGridIndex {
+
+    private static final int PRECISION = 4;
+    private static final double CELL_HEIGHT_DEG = 180.0 / (1 << 10); // 20 bits total, 10 for latitude
+    private static final double CELL_WIDTH_DEG = 360.0 / (1 << 10);  // and 10 for longitude
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    public static final double MAX_RADIUS_KM = 500;
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, RoaringBitmap> cells = new HashMap<>();
+    private final Map<Integer, String> cellOf = new HashMap<>();
+    private final Map<Integer, Long> positions = new HashMap<>(); // two floats packed in a long
+    private final RoaringBitmap remote = new RoaringBitmap();
+
+    /** Adds or moves an entry. Coordinates may be null (place unknown); remote entries match every query. */
+    public void put(int id, Double latitude, Double longitude, boolean isRemote) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (latitude != null && longitude != null) {
+                String cell = geohash(latitude, longitude, PRECISION);
+                cells.computeIfAbsent(cell, c -> new RoaringBitmap()).add(id);
+                cellOf.put(id, cell);
+                positions.put(id, pack(latitude, longitude));
+            }
+            if (isRemote) remote.add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Ids within radiusKm of the point, plus all remote ids when includeRemote is set. */
+    public RoaringBitmap within(double latitude, double longitude, double radiusKm, boolean includeRemote) {
+        double radius = Math.min(radiusKm, MAX_RADIUS_KM);
+        double latDelta = Math.toDegrees(radius / EARTH_RADIUS_KM);
+        double lonDelta = latDelta / Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+
+        Set<String> covering = new HashSet<>();
+        for (double lat = Math.max(-90, latitude - latDelta); lat <= Math.min(90, latitude + latDelta + CELL_HEIGHT_DEG); lat += CELL_HEIGHT_DEG) {
+            for (double lon = longitude - lonDelta; lon <= longitude + lonDelta + CELL_WIDTH_DEG; lon += CELL_WIDTH_DEG) {
+                covering.add(geohash(Math.min(lat, 90), wrapLongitude(lon), PRECISION));
+            }
+        }
+
+        RoaringBitmap result = new RoaringBitmap();
+        lock.readLock().lock();
+        try {
+            for (String cell : covering) {
+                RoaringBitmap ids = cells.get(cell);
+                if (ids == null) continue;
+                IntIterator it = ids.getIntIterator();
+                while (it.hasNext()) {
+                    int id = it.next();
+                    long packed = positions.get(id);
+                    if (distanceKm(latitude, longitude, unpackLat(packed), unpackLon(packed)) <= radius) result.add(id);
+                }
+            }
+            if (includeRemote) result.or(remote);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    public RoaringBitmap remoteIds() {
+        lock.readLock().lock();
+        try {
+            return remote.clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap all = remote.clone();
+            for (Integer id : positions.keySet()) all.add(id);
+            return all.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(int id) {
+        String cell = cellOf.remove(id);
+        if (cell != null) {
+            RoaringBitmap ids = cells.get(cell);
+            ids.remove(id);
+            if (ids.isEmpty()) cells.remove(cell);
+        }
+        positions.remove(id);
+        remote.remove(id);
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    static String geohash(double latitude, double longitude, int precision) {
+        double[] latRange = { -90, 90 };
+        double[] lonRange = { -180, 180 };
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            double[] range = evenBit ? lonRange : latRange;
+            double value = evenBit ? longitude : latitude;
+            double mid = (range[0] + range[1]) / 2;
+            if (value >= mid) {
+                ch = (ch << 1) | 1;
+                range[0] = mid;
+            } else {
+                ch = ch << 1;
+                range[1] = mid;
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    private static double wrapLongitude(double lon) {
+        if (lon >= 180) return lon - 360;
+        if (lon < -180) return lon + 360;
+        return lon;
+    }
+
+    private static long pack(double latitude, double longitude) {
+        return ((long) Float.floatToIntBits((float) latitude) << 32) | (Float.floatToIntBits((float) longitude) & 0xffffffffL);
+    }
+
+    private static double unpackLat(long packed) {
+        return Float.intBitsToFloat((int) (packed >>> 32));
+    }
+
+    private static double unpackLon(long packed) {
+        return Float.intBitsToFloat((int) packed);
+    }
+}
@@ -0,0 +1,92 @@
+package com.job.demo.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the in-memory indexes from their tables at startup, all at once on their own threads.
+ *
+ * Runs as an ApplicationRunner: Spring Boot only reports readiness (ACCEPTING_TRAFFIC) after
+ * every runner has returned, so a load balancer following the readiness probe keeps traffic
+ * away until the indexes are complete. The web server is already listening by then, so job
+ * writes also check isReady() and are turned away until it flips. Before it does, openings whose
+ * canonical posting expired while nothing was running are handed on to a live repost.
+ */
+@Component
+public class IndexWarmup implements ApplicationRunner {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TalentAnalyticsService talentAnalyticsService;
+
+    @Autowired
+    private JobAttributeIndex jobAttributeIndex;
+
+    @Autowired
+    private LocationIndexService locationIndexService;
+
+    @Autowired
+    private JobDeduplicator jobDeduplicator;
+
+    @Autowired
+    private JobExpiryService jobExpiryService;
+
+    @Autowired
+    private JobService jobService;
+
+    private volatile boolean ready;
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+
+        Map<String, Runnable> rebuilds = new LinkedHashMap<>();
+        rebuilds.put("talent analytics", talentAnalyticsService::rebuild);
+        rebuilds.put("job attributes", jobAttributeIndex::rebuild);
+        rebuilds.put("locations", locationIndexService::rebuild);
+        rebuilds.put("job duplicates", jobDeduplicator::rebuild);
+        rebuilds.put("job expiry", jobExpiryService::rebuild);
+
+        // Each rebuild streams over its own connection, so they don't wait on each other
+        ExecutorService pool = Executors.newFixedThreadPool(rebuilds.size(), runnable -> {
+            Thread thread = new Thread(runnable, "index-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (Runnable rebuild : rebuilds.values()) running.add(pool.submit(rebuild));
+            int i = 0;
+            for (String name : rebuilds.keySet()) {
+                try {
+                    running.get(i++).get();
+                } catch (ExecutionException e) {
+                    System.err.println("Warning: Could not rebuild " + name + " index: " + e.getCause().getMessage());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        // Needs the indexes: a promoted repost is indexed like any other posting
+        jobService.promoteExpiredReposts();
+        ready = true;
+    }
+
+    public boolean isReady() { return ready; }
+}
@@ -0,0 +1,270 @@
+package com.job.demo.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.sql.DataSource;
+
+import org.roaringbitmap.BitSetUtil;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.job.demo.model.Job;
+
+/**
+ * Column store for the job attributes the feed filters on.
+ *
+ * annualSalary is a plain int[] indexed by job id, so "salary >= x" is one sequential,
+ * branch-free pass over the array with no object access. jobType and workMode are
+ * low-cardinality, so each value keeps a bitmap of job ids. A combined filter is a handful of
+ * bitmap ORs and ANDs, and the result composes with the geo index and the seen-jobs bitmaps.
+ * Posting time and rating are kept the same way for ranking the feed.
+ */
+@Service
+public class JobAttributeIndex {
+
+    private static final int NO_SALARY = -1;
+    private static final int ABSENT = -2;
+    private static final int MASK_CHUNK = 4096;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /** Filter values; null or empty means "don't filter on this". */
+    public static class Filter {
+        private Collection<String> jobTypes;
+        private Collection<String> workModes;
+        private int minAnnualSalary;
+        private boolean includeUnknownSalary = true;
+
+        public Collection<String> getJobTypes() { return jobTypes; }
+        public void setJobTypes(Collection<String> jobTypes) { this.jobTypes = jobTypes; }
+        public Collection<String> getWorkModes() { return workModes; }
+        public void setWorkModes(Collection<String> workModes) { this.workModes = workModes; }
+        public int getMinAnnualSalary() { return minAnnualSalary; }
+        public void setMinAnnualSalary(int minAnnualSalary) { this.minAnnualSalary = minAnnualSalary; }
+        public boolean isIncludeUnknownSalary() { return includeUnknownSalary; }
+        public void setIncludeUnknownSalary(boolean includeUnknownSalary) { this.includeUnknownSalary = includeUnknownSalary; }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Indexed by job id; ABSENT for ids that aren't live jobs, NO_SALARY when the salary is unknown
+    private int[] annualSalary = new int[1024];
+    // Ranking columns: posting time in minutes since the epoch (0 if unknown) and rating
+    private int[] postedMinute = new int[1024];
+    private float[] rating = new float[1024];
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final RoaringBitmap unknownSalary = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> byJobType = new HashMap<>();
+    private final Map<String, RoaringBitmap> byWorkMode = new HashMap<>();
+    private final Map<Integer, String[]> valuesOf = new HashMap<>();
+
+    {
+        Arrays.fill(annualSalary, ABSENT);
+    }
+
+    public void put(Job job) {
+        int id = Math.toIntExact(job.getId());
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            ensureCapacity(id);
+            Integer salary = job.getAnnualSalary();
+            annualSalary[id] = salary == null ? NO_SALARY : salary;
+            postedMinute[id] = job.getPostedAt() == null ? 0 : (int) (job.getPostedAt().getEpochSecond() / 60);
+            rating[id] = (float) job.getRating();
+            if (salary == null) unknownSalary.add(id);
+            String jobType = normalize(job.getJobType());
+            String workMode = normalize(job.getWorkMode());
+            byJobType.computeIfAbsent(jobType, v -> new RoaringBitmap()).add(id);
+            byWorkMode.computeIfAbsent(workMode, v -> new RoaringBitmap()).add(id);
+            valuesOf.put(id, new String[] { jobType, workMode });
+            live.add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long jobId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(jobId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** False once the job has been deleted, has expired or has become a repost. */
+    public boolean isLive(int jobId) {
+        lock.readLock().lock();
+        try {
+            return live.contains(jobId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Ids of live jobs matching every part of the filter. */
+    public RoaringBitmap matching(Filter filter) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = live.clone();
+            if (filter.getJobTypes() != null && !filter.getJobTypes().isEmpty()) {
+                result.and(anyOf(byJobType, filter.getJobTypes()));
+            }
+            if (filter.getWorkModes() != null && !filter.getWorkModes().isEmpty()) {
+                result.and(anyOf(byWorkMode, filter.getWorkModes()));
+            }
+            if (filter.getMinAnnualSalary() > 0) {
+                RoaringBitmap salaryOk = atLeast(filter.getMinAnnualSalary());
+                if (filter.isIncludeUnknownSalary()) salaryOk.or(unknownSalary);
+                result.and(salaryOk);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Branch-free scan: each job contributes the sign bit of (min - 1 - salary) to a 64-bit word.
+    // The variable shift into one accumulator keeps C2 from vectorizing this; it is still a
+    // cache-friendly sequential read with no mispredicted branches.
+    private RoaringBitmap atLeast(int min) {
+        return atLeast(annualSalary, min);
+    }
+
+    /**
+     * Ids whose salary is at least min. Works through the array a chunk at a time: first one
+     * independent compare per element into a byte mask, a shape the JIT can vectorize, then the
+     * mask is packed into the bitmap words. (bound - salary) must not overflow for any stored
+     * value (ABSENT .. Integer.MAX_VALUE), so min is clamped to 0 .. Integer.MAX_VALUE - 1;
+     * the sentinels never match either way.
+     */
+    static RoaringBitmap atLeast(int[] salaries, int min) {
+        int bound = Math.max(0, Math.min(min, Integer.MAX_VALUE - 1)) - 1;
+        long[] words = new long[(salaries.length + 63) >>> 6];
+        byte[] mask = new byte[MASK_CHUNK];
+        for (int start = 0; start < salaries.length; start += MASK_CHUNK) {
+            int length = Math.min(MASK_CHUNK, salaries.length - start);
+            for (int i = 0; i < length; i++) {
+                mask[i] = (byte) ((bound - salaries[start + i]) >>> 31);
+            }
+            // start is a multiple of 64, so element i lands on bit i of its word (shifts are mod 64)
+            for (int i = 0; i < length; i++) {
+                words[(start + i) >>> 6] |= (long) mask[i] << i;
+            }
+        }
+        return BitSetUtil.bitmapOf(words);
+    }
+
+    /**
+     * The best-scoring candidates, best first. Score is (1 + rating) times a freshness factor
+     * that halves every halfLife since posting, so a new posting beats an older, better-rated one
+     * for a while and then gives way.
+     */
+    public int[] rank(RoaringBitmap candidates, int limit, long nowMillis, Duration halfLife) {
+        double decayPerMinute = Math.log(2) / Math.max(1, halfLife.toMinutes());
+        long nowMinute = nowMillis / 60_000;
+        // Min-heap of the best `limit` so far, ordered by score
+        PriorityQueue<double[]> best = new PriorityQueue<>(Comparator.comparingDouble((double[] e) -> e[0]));
+        lock.readLock().lock();
+        try {
+            IntIterator it = candidates.getIntIterator();
+            while (it.hasNext()) {
+                int id = it.next();
+                if (id >= postedMinute.length || !live.contains(id)) continue;
+                long ageMinutes = postedMinute[id] == 0 ? 0 : Math.max(0, nowMinute - postedMinute[id]);
+                double score = (1 + rating[id]) * Math.exp(-decayPerMinute * ageMinutes);
+                if (best.size() < limit) {
+                    best.add(new double[] { score, id });
+                } else if (score > best.peek()[0]) {
+                    best.poll();
+                    best.add(new double[] { score, id });
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        int[] ranked = new int[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) ranked[i] = (int) best.poll()[1];
+        return ranked;
+    }
+
+    private static RoaringBitmap anyOf(Map<String, RoaringBitmap> index, Collection<String> values) {
+        RoaringBitmap union = new RoaringBitmap();
+        for (String value : values) {
+            RoaringBitmap ids = index.get(normalize(value));
+            if (ids != null) union.or(ids);
+        }
+        return union;
+    }
+
+    private void removeLocked(int id) {
+        if (!live.contains(id)) return;
+        live.remove(id);
+        unknownSalary.remove(id);
+        annualSalary[id] = ABSENT;
+        String[] values = valuesOf.remove(id);
+        if (values != null) {
+            byJobType.get(values[0]).remove(id);
+            byWorkMode.get(values[1]).remove(id);
+        }
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < annualSalary.length) return;
+        int size = Math.max(annualSalary.length * 2, id + 1);
+        int[] grown = Arrays.copyOf(annualSalary, size);
+        Arrays.fill(grown, annualSalary.length, size, ABSENT);
+        annualSalary = grown;
+        postedMinute = Arrays.copyOf(postedMinute, size);
+        rating = Arrays.copyOf(rating, size);
+    }
+
+    // "Full Time", "full_time" and "FULL-TIME" are the same value
+    static String normalize(String value) {
+        if (value == null || value.isBlank()) return "unspecified";
+        return value.trim().toLowerCase(Locale.ROOT).replaceAll("[\\s_]+", "-");
+    }
+
+    public void rebuild() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(Integer.MIN_VALUE); // MySQL streaming result set
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.executeWithoutResult(status -> jdbcTemplate.query(
+                    "SELECT id, annual_salary, job_type, work_mode, posted_at, rating FROM jobs"
+                    + " WHERE canonical_job_id IS NULL AND (expires_at IS NULL OR expires_at > NOW(3))", rs -> {
+                        Job job = new Job();
+                        job.setId(rs.getLong(1));
+                        job.setAnnualSalary(rs.getObject(2, Integer.class));
+                        job.setJobType(rs.getString(3));
+                        job.setWorkMode(rs.getString(4));
+                        Timestamp postedAt = rs.getTimestamp(5);
+                        job.setPostedAt(postedAt == null ? null : postedAt.toInstant());
+                        job.setRating(rs.getDouble(6));
+                        put(job);
+                    }));
+        } catch (Exception e) {
+            System.err.println("Warning: Could not build job attribute index: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.job.demo.service;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.job.demo.model.Job;
+
+/**
+ * Finds reposts of openings we already have.
+ *
+ * Every canonical posting gets a MinHash signature over word 3-shingles of its title, company
+ * and description. The signature is cut into bands and each band is hashed into an in-memory
+ * bucket (LSH), so a new posting is only compared against the few postings sharing a bucket
+ * with it. Buckets are capped, which keeps the cost per posting constant however big the
+ * catalog gets. A posting with the same apply URL (once tracking parameters are stripped) is
+ * checked first, but like every other candidate it must pass the similarity threshold:
+ * aggregators send many different openings to one careers-page link.
+ */
+@Service
+public class JobDeduplicator {
+
+    private static final int HASHES = 64;
+    private static final int BANDS = 16;
+    private static final int ROWS = HASHES / BANDS;
+    private static final int MAX_BUCKET_SIZE = 16;
+    private static final int SHINGLE_WORDS = 3;
+
+    // Query parameters aggregators add to the same apply link
+    private static final Set<String> TRACKING_PARAMS = Set.of(
+            "gclid", "fbclid", "msclkid", "dclid", "igshid", "mc_cid", "mc_eid", "_hsenc", "_hsmi",
+            "ref", "refid", "referrer", "src", "source", "trk", "trkinfo", "trackingid", "campaign", "si");
+
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < HASHES; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            SEEDS[i] = mix(seed);
+        }
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Share of MinHash slots two postings must agree on (an estimate of shingle Jaccard similarity)
+    private final double similarityThreshold;
+
+    @Autowired
+    public JobDeduplicator(@Value("${app.dedup.similarity-threshold:0.8}") double similarityThreshold) {
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    /** What we compare postings on: canonical apply URL and MinHash signature (null if there's no text). */
+    public static class Fingerprint {
+        private final String applyUrlKey;
+        private final int[] minHash;
+
+        Fingerprint(String applyUrlKey, int[] minHash) {
+            this.applyUrlKey = applyUrlKey;
+            this.minHash = minHash;
+        }
+
+        public String getApplyUrlKey() { return applyUrlKey; }
+        public int[] getMinHash() { return minHash; }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Fingerprint> fingerprints = new HashMap<>();
+    private final Map<String, Long> byApplyUrl = new HashMap<>();
+    private final Map<Long, long[]> buckets = new HashMap<>();
+
+    public Fingerprint fingerprint(Job job) {
+        return new Fingerprint(canonicalApplyUrl(job.getApplyUrl()),
+                minHash(Objects.toString(job.getTitle(), "") + " " + Objects.toString(job.getCompany(), "")
+                        + " " + Objects.toString(job.getDescription(), "")));
+    }
+
+    /** Id of the canonical posting this one duplicates, or null if it's a new opening. */
+    public Long findCanonical(Fingerprint fingerprint) {
+        lock.readLock().lock();
+        try {
+            // Without text there is nothing to compare, whatever the URL says
+            if (fingerprint.minHash == null) return null;
+
+            int needed = (int) Math.ceil(similarityThreshold * HASHES);
+            if (fingerprint.applyUrlKey != null) {
+                Long sameUrl = byApplyUrl.get(fingerprint.applyUrlKey);
+                Fingerprint other = sameUrl == null ? null : fingerprints.get(sameUrl);
+                if (other != null && other.minHash != null && agreement(fingerprint.minHash, other.minHash) >= needed) {
+                    return sameUrl;
+                }
+            }
+            for (int band = 0; band < BANDS; band++) {
+                long[] ids = buckets.get(bandKey(fingerprint.minHash, band));
+                if (ids == null) continue;
+                for (long id : ids) {
+                    Fingerprint other = fingerprints.get(id);
+                    if (other != null && agreement(fingerprint.minHash, other.minHash) >= needed) return id;
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Makes a canonical posting findable by later reposts. */
+    public void register(long jobId, Fingerprint fingerprint) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(jobId);
+            fingerprints.put(jobId, fingerprint);
+            if (fingerprint.applyUrlKey != null) byApplyUrl.putIfAbsent(fingerprint.applyUrlKey, jobId);
+            if (fingerprint.minHash == null) return;
+            for (int band = 0; band < BANDS; band++) {
+                buckets.merge(bandKey(fingerprint.minHash, band), new long[] { jobId }, JobDeduplicator::append);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long jobId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long jobId) {
+        Fingerprint old = fingerprints.remove(jobId);
+        if (old == null) return;
+        if (old.applyUrlKey != null) byApplyUrl.remove(old.applyUrlKey, jobId);
+        if (old.minHash == null) return;
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(old.minHash, band);
+            long[] ids = buckets.get(key);
+            if (ids == null) continue;
+            long[] rest = Arrays.stream(ids).filter(id -> id != jobId).toArray();
+            if (rest.length == 0) buckets.remove(key);
+            else buckets.put(key, rest);
+        }
+    }
+
+    // Full buckets drop their oldest posting, so a popular template can't make lookups linear.
+    // That costs recall: a posting pushed out of every one of its band buckets can no longer be
+    // found as the original of a repost, and the repost is stored as a new opening.
+    private static long[] append(long[] ids, long[] added) {
+        int keep = Math.min(ids.length, MAX_BUCKET_SIZE - 1);
+        long[] result = Arrays.copyOfRange(ids, ids.length - keep, ids.length + 1);
+        result[keep] = added[0];
+        return result;
+    }
+
+    private static int agreement(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) same++;
+        }
+        return same;
+    }
+
+    private static long bandKey(int[] minHash, int band) {
+        long h = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            h = h * 0x9E3779B97F4A7C15L + minHash[row];
+        }
+        return mix(h);
+    }
+
+    static int[] minHash(String text) {
+        String[] words = text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        List<Long> wordHashes = new ArrayList<>(words.length);
+        for (String word : words) {
+            if (!word.isEmpty()) wordHashes.add(mix(word.hashCode()));
+        }
+        if (wordHashes.isEmpty()) return null;
+
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, wordHashes.size() - SHINGLE_WORDS + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = 0;
+            for (int w = start; w < Math.min(start + SHINGLE_WORDS, wordHashes.size()); w++) {
+                shingle = shingle * 0x9E3779B97F4A7C15L + wordHashes.get(w);
+            }
+            for (int i = 0; i < HASHES; i++) {
+                int h = (int) (mix(shingle ^ SEEDS[i]) >>> 33);
+                if (h < signature[i]) signature[i] = h;
+            }
+        }
+        return signature;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Apply URL with tracking parameters, fragment, scheme, "www." and trailing slash removed and
+     * the remaining parameters sorted, so aggregator variants of one link compare equal.
+     */
+    public static String canonicalApplyUrl(String url) {
+        if (url == null || url.isBlank()) return null;
+        URI uri;
+        try {
+            uri = new URI(url.trim());
+        } catch (URISyntaxException e) {
+            return url.trim().toLowerCase(Locale.ROOT);
+        }
+        if (uri.getHost() == null) return url.trim().toLowerCase(Locale.ROOT);
+
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        if (host.startsWith("www.")) host = host.substring(4);
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+        while (path.endsWith("/")) path = path.substring(0, path.length() - 1);
+
+        List<String> params = new ArrayList<>();
+        if (uri.getRawQuery() != null) {
+            for (String param : uri.getRawQuery().split("&")) {
+                String name = param.split("=", 2)[0].toLowerCase(Locale.ROOT);
+                if (param.isEmpty() || name.startsWith("utm_") || TRACKING_PARAMS.contains(name)) continue;
+                params.add(param);
+            }
+        }
+        params.sort(null);
+        int port = uri.getPort();
+        return host + (port > 0 ? ":" + port : "") + path + (params.isEmpty() ? "" : "?" + String.join("&", params));
+    }
+
+    public void rebuild() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(Integer.MIN_VALUE); // MySQL streaming result set
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.executeWithoutResult(status -> jdbcTemplate.query(
+                    "SELECT id, title, company, description, apply_url FROM jobs"
+                    + " WHERE canonical_job_id IS NULL AND (expires_at IS NULL OR expires_at > NOW(3))", rs -> {
+                        Job job = new Job();
+                        job.setTitle(rs.getString(2));
+                        job.setCompany(rs.getString(3));
+                        job.setDescription(rs.getString(4));
+                        job.setApplyUrl(rs.getString(5));
+                        register(rs.getLong(1), fingerprint(job));
+                    }));
+        } catch (Exception e) {
+            System.err.println("Warning: Could not build duplicate detection index: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.job.demo.service;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.job.demo.model.Job;
+
+/**
+ * Knows when postings expire.
+ *
+ * Every live canonical posting's expiresAt sits in a hierarchical timing wheel. Each tick
+ * (JobService.expireDue) hands back only the postings that just expired, so nothing ever scans
+ * or deletes across the jobs table. Expired rows stay in the database; every index rebuild
+ * skips them.
+ */
+@Service
+public class JobExpiryService {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final TimingWheel wheel;
+
+    // 60 one-minute slots, then 60-hour slots, then ~150-day slots
+    public JobExpiryService(@Value("${app.jobs.expiry-tick-ms:60000}") long tickMs) {
+        this.wheel = new TimingWheel(tickMs, 60, System.currentTimeMillis());
+    }
+
+    public void schedule(Job job) {
+        if (job.getExpiresAt() == null) {
+            wheel.cancel(job.getId());
+        } else {
+            wheel.schedule(job.getId(), job.getExpiresAt().toEpochMilli());
+        }
+    }
+
+    public void cancel(long jobId) {
+        wheel.cancel(jobId);
+    }
+
+    /** Ids of the postings whose expiry has passed since the last call. */
+    public List<Long> advance(long nowMs) {
+        return wheel.advance(nowMs);
+    }
+
+    public void rebuild() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(Integer.MIN_VALUE); // MySQL streaming result set
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.executeWithoutResult(status -> jdbcTemplate.query(
+                    // The overlap covers postings that expired while the other indexes were loading
+                    "SELECT id, expires_at FROM jobs WHERE canonical_job_id IS NULL AND expires_at > NOW(3) - INTERVAL 1 HOUR", rs -> {
+                        wheel.schedule(rs.getLong(1), rs.getTimestamp(2).getTime());
+                    }));
+        } catch (Exception e) {
+            System.err.println("Warning: Could not schedule job expiries: " + e.getMessage());
+        }
+    }
+}
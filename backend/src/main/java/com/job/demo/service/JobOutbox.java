@@ -0,0 +1,25 @@
+package com.job.demo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.job.demo.model.JobOutboxEvent;
+import com.job.demo.repository.JobOutboxRepository;
+
+/**
+ * Records job changes for every instance's indexes (see JobOutboxDispatcher). Like
+ * ProfileOutbox, the event must commit or roll back with the change itself.
+ */
+@Service
+public class JobOutbox {
+
+    @Autowired
+    private JobOutboxRepository jobOutboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(long jobId) {
+        jobOutboxRepository.save(new JobOutboxEvent(jobId));
+    }
+}
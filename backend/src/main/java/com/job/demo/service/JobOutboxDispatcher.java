@@ -0,0 +1,117 @@
+package com.job.demo.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.job.demo.model.JobOutboxEvent;
+import com.job.demo.repository.JobOutboxRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Applies the job outbox to this instance's job indexes (location, attributes, duplicates,
+ * expiry), so a job saved, deleted or promoted on any instance shows up on all of them.
+ *
+ * Works like ProfileOutboxDispatcher: a per-instance cursor over events older than the settle
+ * delay, retention-based cleanup, and a failed batch retried as is. Events carry only the job
+ * id; JobService.refresh reloads each job and indexes or drops it, so applying an event twice,
+ * or after the instance already applied its own write, changes nothing.
+ *
+ * Nothing is applied until the startup rebuilds are done: a scan still streaming an older
+ * snapshot could otherwise put back a job an event had just dropped. Events from that window
+ * are applied right after.
+ */
+@Service
+public class JobOutboxDispatcher {
+
+    @Autowired
+    private JobOutboxRepository jobOutboxRepository;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private IndexWarmup indexWarmup;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.outbox.settle-delay:2s}")
+    private Duration settleDelay;
+
+    @Value("${app.outbox.retention:1h}")
+    private Duration retention;
+
+    // Highest event id this instance has applied
+    private volatile long cursor;
+    private volatile long retryThrough = Long.MAX_VALUE;
+
+    private static class Batch {
+        int events;
+        long lastId;
+    }
+
+    // Start after what is already in the outbox: the indexes rebuild from the tables at startup
+    @PostConstruct
+    public void initCursor() {
+        cursor = jobOutboxRepository.findLastIdBefore(Instant.now().minus(settleDelay));
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void dispatch() {
+        if (!indexWarmup.isReady()) return;
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            Batch batch;
+            do {
+                // Not read-only, so the jobs are reloaded from the primary
+                batch = tx.execute(status -> dispatchBatch());
+                if (batch.events > 0) {
+                    cursor = batch.lastId;
+                    retryThrough = Long.MAX_VALUE;
+                }
+            } while (batch.events == batchSize);
+        } catch (Exception e) {
+            System.err.println("Warning: Job outbox dispatch failed, will retry: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private Batch dispatchBatch() {
+        Batch batch = new Batch();
+        List<JobOutboxEvent> events = jobOutboxRepository.findNextBatch(cursor, retryThrough,
+                Instant.now().minus(settleDelay), batchSize);
+        if (events.isEmpty()) return batch;
+
+        batch.events = events.size();
+        batch.lastId = events.get(events.size() - 1).getId();
+        retryThrough = batch.lastId;
+        Set<Long> jobIds = new LinkedHashSet<>();
+        for (JobOutboxEvent event : events) jobIds.add(event.getJobId());
+        jobService.refresh(jobIds);
+        return batch;
+    }
+
+    // Every instance runs this; deleting the same old rows twice is harmless
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval-ms:60000}")
+    public void removeDelivered() {
+        Instant cutoff = Instant.now().minus(retention);
+        try {
+            while (jobOutboxRepository.deleteOlderThan(cutoff, 10_000) == 10_000) { }
+        } catch (Exception e) {
+            System.err.println("Warning: Could not clean up job outbox: " + e.getMessage());
+        }
+    }
+}
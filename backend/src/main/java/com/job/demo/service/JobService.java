@@ -0,0 +1,227 @@
+package com.job.demo.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.job.demo.model.Job;
+import com.job.demo.repository.JobRepository;
+
+/**
+ * Single entry point for writing jobs, so derived fields and in-memory indexes
+ * never drift from what is stored.
+ *
+ * Every write records a job outbox event in its own transaction, and every instance (see
+ * JobOutboxDispatcher) reloads those jobs into its indexes. The writing instance also applies
+ * the change itself once it has committed, so its own reads, and later postings in the same
+ * batch, see it straight away.
+ */
+@Service
+public class JobService {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private LocationNormalizer locationNormalizer;
+
+    @Autowired
+    private LocationIndexService locationIndexService;
+
+    @Autowired
+    private SalaryNormalizer salaryNormalizer;
+
+    @Autowired
+    private JobAttributeIndex jobAttributeIndex;
+
+    @Autowired
+    private JobDeduplicator jobDeduplicator;
+
+    @Autowired
+    private JobExpiryService jobExpiryService;
+
+    @Autowired
+    private JobOutbox jobOutbox;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Lifetime of postings that don't say when they expire
+    @Value("${app.jobs.default-ttl:30d}")
+    private Duration defaultTtl;
+
+    // "3 days ago", "1 week ago", "5 hours ago"
+    private static final Pattern POSTED_AGO = Pattern.compile("(\\d+)\\+?\\s*(minute|min|hour|hr|day|week|month)s?\\s+ago");
+
+    public Job save(Job job) {
+        LocationNormalizer.Place place = locationNormalizer.normalize(job.getLocation());
+        job.setPlaceName(place.getName());
+        job.setCountryCode(place.getCountryCode());
+        job.setLatitude(place.getLatitude());
+        job.setLongitude(place.getLongitude());
+        job.setRemote(place.isRemote() || "remote".equalsIgnoreCase(job.getWorkMode()));
+        job.setAnnualSalary(salaryNormalizer.toAnnualInr(job.getSalaryAmount(), job.getSalaryCurrency(), job.getSalaryUnit()));
+        if (job.getPostedAt() == null) job.setPostedAt(postedAtFrom(job.getPostedAgo(), Instant.now()));
+        if (job.getExpiresAt() == null) job.setExpiresAt(job.getPostedAt().plus(defaultTtl));
+
+        // New postings that repeat an opening we already have are stored, but point at the original
+        JobDeduplicator.Fingerprint fingerprint = jobDeduplicator.fingerprint(job);
+        if (job.getId() == null) job.setCanonicalJobId(jobDeduplicator.findCanonical(fingerprint));
+
+        Job saved = new TransactionTemplate(transactionManager).execute(status -> {
+            Job stored = jobRepository.save(job);
+            jobOutbox.record(stored.getId());
+            return stored;
+        });
+        apply(saved.getId(), saved, fingerprint, Instant.now());
+        return saved;
+    }
+
+    // Bulk feed ingestion; a repost later in the batch collapses into an earlier posting of it
+    public List<Job> saveAll(List<Job> jobs) {
+        List<Job> saved = new ArrayList<>(jobs.size());
+        for (Job job : jobs) saved.add(save(job));
+        return saved;
+    }
+
+    @Transactional
+    public void delete(long jobId) {
+        jobRepository.deleteById(jobId);
+        jobOutbox.record(jobId);
+        Long promoted = promoteRepost(jobId, Instant.now());
+        List<Long> changed = promoted == null ? List.of(jobId) : List.of(jobId, promoted);
+        // Only once committed: a rolled back delete must leave the indexes as they were
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh(changed);
+            }
+        });
+    }
+
+    /** Brings this instance's indexes in line with what is stored for these jobs. */
+    public void refresh(Collection<Long> jobIds) {
+        Map<Long, Job> stored = new HashMap<>();
+        for (Job job : jobRepository.findAllById(jobIds)) stored.put(job.getId(), job);
+        Instant now = Instant.now();
+        for (long jobId : jobIds) {
+            Job job = stored.get(jobId);
+            apply(jobId, job, job == null ? null : jobDeduplicator.fingerprint(job), now);
+        }
+    }
+
+    /**
+     * Runs every tick of the expiry wheel. Expired postings leave the indexes (cached decks skip
+     * them when read), and like a delete, an expired opening lives on through its oldest live repost.
+     * Every instance's wheel fires for the same posting; one of them promotes the repost and the
+     * others pick it up from the job outbox.
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.expiry-tick-ms:60000}")
+    public void expireDue() {
+        Instant now = Instant.now();
+        for (long jobId : jobExpiryService.advance(now.toEpochMilli())) {
+            unindex(jobId);
+            promoteAfterExpiry(jobId, now);
+        }
+    }
+
+    /**
+     * Promotes reposts of postings that expired while no instance was running. The expiry rebuild
+     * only schedules postings that are live or just expired, so nothing else would ever hand the
+     * opening on. Runs once at startup, after the indexes are built.
+     */
+    public void promoteExpiredReposts() {
+        Instant now = Instant.now();
+        List<Long> expired;
+        try {
+            expired = jobRepository.findExpiredWithLiveReposts();
+        } catch (Exception e) {
+            System.err.println("Warning: Could not look up expired jobs with live reposts: " + e.getMessage());
+            return;
+        }
+        for (long jobId : expired) promoteAfterExpiry(jobId, now);
+    }
+
+    private void promoteAfterExpiry(long jobId, Instant now) {
+        try {
+            Long promoted = new TransactionTemplate(transactionManager).execute(status -> promoteRepost(jobId, now));
+            if (promoted != null) refresh(List.of(promoted));
+        } catch (Exception e) {
+            System.err.println("Warning: Could not promote a repost of expired job " + jobId + ": " + e.getMessage());
+        }
+    }
+
+    private void unindex(long jobId) {
+        locationIndexService.removeJob(jobId);
+        jobAttributeIndex.remove(jobId);
+        jobDeduplicator.remove(jobId);
+    }
+
+    // The opening may still be live through a repost: the oldest one that hasn't expired becomes
+    // canonical. Returns its id, or null if there was none or another instance promoted one first.
+    private Long promoteRepost(long jobId, Instant now) {
+        Job promoted = jobRepository.findByCanonicalJobIdOrderByIdAsc(jobId).stream()
+                .filter(repost -> repost.getExpiresAt() == null || repost.getExpiresAt().isAfter(now))
+                .findFirst().orElse(null);
+        if (promoted == null) return null;
+        // The row lock makes a racing instance wait for this commit, after which its claim matches nothing
+        if (jobRepository.claimCanonical(promoted.getId(), jobId) == 0) return null;
+        jobRepository.repointReposts(jobId, promoted.getId());
+        jobOutbox.record(promoted.getId());
+        return promoted.getId();
+    }
+
+    // Indexes a live canonical posting; anything else (deleted, a repost, expired) is dropped
+    private void apply(long jobId, Job job, JobDeduplicator.Fingerprint fingerprint, Instant now) {
+        boolean live = job != null && job.getCanonicalJobId() == null
+                && (job.getExpiresAt() == null || job.getExpiresAt().isAfter(now));
+        if (live) {
+            index(job, fingerprint);
+        } else {
+            unindex(jobId);
+            jobExpiryService.cancel(jobId);
+        }
+    }
+
+    private void index(Job job, JobDeduplicator.Fingerprint fingerprint) {
+        locationIndexService.indexJob(job);
+        jobAttributeIndex.put(job);
+        jobDeduplicator.register(job.getId(), fingerprint);
+        jobExpiryService.schedule(job);
+    }
+
+    // Best guess at the real posting time from the display string; anything unreadable counts as now
+    static Instant postedAtFrom(String postedAgo, Instant now) {
+        if (postedAgo == null) return now;
+        String text = postedAgo.trim().toLowerCase(Locale.ROOT);
+        if (text.equals("yesterday")) return now.minus(1, ChronoUnit.DAYS);
+        Matcher m = POSTED_AGO.matcher(text);
+        if (!m.find()) return now;
+        long amount = Long.parseLong(m.group(1));
+        return switch (m.group(2)) {
+            case "minute", "min" -> now.minus(amount, ChronoUnit.MINUTES);
+            case "hour", "hr" -> now.minus(amount, ChronoUnit.HOURS);
+            case "day" -> now.minus(amount, ChronoUnit.DAYS);
+            case "week" -> now.minus(amount * 7, ChronoUnit.DAYS);
+            default -> now.minus(amount * 30, ChronoUnit.DAYS);
+        };
+    }
+}
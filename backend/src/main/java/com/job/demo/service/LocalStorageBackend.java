@@ -0,0 +1,131 @@
+package com.job.demo.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+/**
+ * Stores files on local disk under two levels of hash-prefix directories,
+ * e.g. uploads/resumes/3f/a2/<uuid>_cv.pdf, so no single directory grows past a few
+ * thousand entries even with millions of files.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local", matchIfMissing = true)
+public class LocalStorageBackend implements StorageBackend {
+
+    private final Path root;
+
+    public LocalStorageBackend(@Value("${app.storage.local.root:uploads}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create upload directories!", ex);
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    @Override
+    public void store(String key, InputStream content, long size, String contentType) throws IOException {
+        Path target = pathFor(key);
+        Files.createDirectories(target.getParent());
+        Files.copy(content, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public Resource load(String key) {
+        Path path = pathFor(key);
+        return Files.isReadable(path) ? new FileSystemResource(path) : null;
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(pathFor(key));
+    }
+
+    @Override
+    public void importFile(String key, Path source, String contentType) throws IOException {
+        Path target = pathFor(key);
+        Files.createDirectories(target.getParent());
+        // Same disk, so a rename is enough
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public Iterator<StoredFile> listFiles(String folder) throws IOException {
+        Path folderDir = root.resolve(folder);
+        List<Path> leaves = new ArrayList<>();
+        for (Path first : shardDirs(folderDir)) {
+            leaves.addAll(shardDirs(first));
+        }
+        // At most 65536 leaf directories are remembered; their files are read one leaf at a time
+        Iterator<Path> leafIterator = leaves.iterator();
+
+        return new Iterator<>() {
+            private Iterator<StoredFile> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && leafIterator.hasNext()) {
+                    current = readLeaf(folder, leafIterator.next()).iterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public StoredFile next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return current.next();
+            }
+        };
+    }
+
+    Path pathFor(String key) {
+        return root.resolve(ShardedLayout.shardedKey(key));
+    }
+
+    private List<StoredFile> readLeaf(String folder, Path leaf) {
+        List<StoredFile> files = new ArrayList<>();
+        try (Stream<Path> children = Files.list(leaf)) {
+            for (Path file : (Iterable<Path>) children::iterator) {
+                if (!Files.isRegularFile(file)) continue;
+                files.add(new StoredFile(folder + "/" + file.getFileName(), Files.getLastModifiedTime(file).toMillis()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        files.sort((a, b) -> ShardedLayout.compareBytes(a.getFileName(), b.getFileName()));
+        return files;
+    }
+
+    // Shard directories are two lowercase hex digits, so a plain name sort is shard order
+    private static List<Path> shardDirs(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> children = Files.list(dir)) {
+            return children
+                    .filter(Files::isDirectory)
+                    .filter(p -> p.getFileName().toString().matches("[0-9a-f]{2}"))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
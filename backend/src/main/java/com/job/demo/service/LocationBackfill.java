@@ -0,0 +1,102 @@
+package com.job.demo.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Resolves preferred_location into coordinates for profiles saved before V3 added them.
+ * Profiles only get coordinates on save, so without this an old profile stays invisible to
+ * location searches until its owner edits it.
+ *
+ * Rows are streamed off the primary and written back in small transactions, each recording
+ * an outbox event so every instance re-indexes the profile. Runs in the background at startup;
+ * rows are claimed with "preferred_place IS NULL", so it is safe to run on several instances.
+ */
+@Component
+public class LocationBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LocationNormalizer locationNormalizer;
+
+    @Autowired
+    private ProfileOutbox profileOutbox;
+
+    @Value("${app.profiles.location-backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!backfillOnStartup) return;
+        Thread worker = new Thread(this::backfill, "location-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** Returns the number of profiles that got a place. */
+    public int backfill() {
+        if (!running.compareAndSet(false, true)) return 0;
+        // Outside any transaction reads go to the primary, so rows written moments ago aren't missed
+        JdbcTemplate reader = new JdbcTemplate(dataSource);
+        reader.setFetchSize(Integer.MIN_VALUE); // MySQL streaming result set
+        JdbcTemplate writer = new JdbcTemplate(dataSource);
+        TransactionTemplate write = new TransactionTemplate(transactionManager);
+
+        List<Object[]> batch = new ArrayList<>();
+        int[] updated = { 0 };
+        try {
+            reader.query("SELECT id, preferred_location FROM user_profiles"
+                    + " WHERE preferred_place IS NULL AND preferred_latitude IS NULL AND preferred_location <> ''", rs -> {
+                LocationNormalizer.Place place = locationNormalizer.normalize(rs.getString(2));
+                if (place.getName() == null) return; // nothing in the gazetteer matches
+                batch.add(new Object[] { place.getName(), place.getLatitude(), place.getLongitude(), rs.getLong(1) });
+                if (batch.size() >= BATCH_SIZE) updated[0] += flush(write, writer, batch);
+            });
+            updated[0] += flush(write, writer, batch);
+        } catch (Exception e) {
+            System.err.println("Warning: Location backfill stopped: " + e.getMessage());
+        } finally {
+            running.set(false);
+        }
+        return updated[0];
+    }
+
+    private int flush(TransactionTemplate write, JdbcTemplate writer, List<Object[]> batch) {
+        if (batch.isEmpty()) return 0;
+        Integer updated = write.execute(status -> {
+            int[] counts = writer.batchUpdate("UPDATE user_profiles SET preferred_place = ?, preferred_latitude = ?,"
+                    + " preferred_longitude = ? WHERE id = ? AND preferred_place IS NULL", batch);
+            int changed = 0;
+            for (int i = 0; i < counts.length; i++) {
+                // A profile saved in the meantime already has its own place; leave it alone
+                if (counts[i] == 0) continue;
+                profileOutbox.record((Long) batch.get(i)[3], ProfileOutbox.PROFILE);
+                changed++;
+            }
+            return changed;
+        });
+        batch.clear();
+        return updated == null ? 0 : updated;
+    }
+}
@@ -0,0 +1,95 @@
+package com.job.demo.service;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.job.demo.model.Job;
+import com.job.demo.model.UserProfile;
+import com.job.demo.repository.UserProfileRepository;
+
+/**
+ * Geo indexes over jobs (for the feed) and candidate profiles (for recruiter search),
+ * loaded at startup from a streaming scan and kept current on every job save and, through
+ * the profile outbox, every profile change.
+ */
+@Service
+public class LocationIndexService implements ProfileChangeHandler {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    private final GeoGridIndex jobs = new GeoGridIndex();
+    private final GeoGridIndex candidates = new GeoGridIndex();
+
+    public void indexJob(Job job) {
+        jobs.put(Math.toIntExact(job.getId()), job.getLatitude(), job.getLongitude(), job.isRemote());
+    }
+
+    public void removeJob(long jobId) {
+        jobs.remove(Math.toIntExact(jobId));
+    }
+
+    public void indexProfile(UserProfile profile) {
+        candidates.put(Math.toIntExact(profile.getId()), profile.getPreferredLatitude(), profile.getPreferredLongitude(),
+                profile.isRemoteOnly());
+    }
+
+    @Override
+    public void onProfilesChanged(List<ProfileChange> changes) {
+        List<Long> ids = changes.stream()
+                .filter(change -> change.getChangeTypes().contains(ProfileOutbox.PROFILE))
+                .map(ProfileChange::getProfileId)
+                .toList();
+        if (ids.isEmpty()) return;
+        for (UserProfile profile : userProfileRepository.findAllById(ids)) indexProfile(profile);
+    }
+
+    /** Jobs within radiusKm of the point, plus remote jobs if asked for. */
+    public RoaringBitmap jobsNear(double latitude, double longitude, double radiusKm, boolean includeRemote) {
+        return jobs.within(latitude, longitude, radiusKm, includeRemote);
+    }
+
+    public RoaringBitmap remoteJobs() {
+        return jobs.remoteIds();
+    }
+
+    /** Candidate profile ids within radiusKm of the point, plus remote-only candidates if asked for. */
+    public RoaringBitmap candidatesNear(double latitude, double longitude, double radiusKm, boolean includeRemote) {
+        return candidates.within(latitude, longitude, radiusKm, includeRemote);
+    }
+
+    public void rebuild() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(Integer.MIN_VALUE); // MySQL streaming result set
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.executeWithoutResult(status -> {
+                jdbcTemplate.query("SELECT id, latitude, longitude, remote FROM jobs"
+                        + " WHERE canonical_job_id IS NULL AND (expires_at IS NULL OR expires_at > NOW(3))", rs -> {
+                    jobs.put(rs.getInt(1), rs.getObject(2, Double.class), rs.getObject(3, Double.class), rs.getBoolean(4));
+                });
+                jdbcTemplate.query("SELECT id, preferred_latitude, preferred_longitude, remote_only FROM user_profiles", rs -> {
+                    candidates.put(rs.getInt(1), rs.getObject(2, Double.class), rs.getObject(3, Double.class), rs.getBoolean(4));
+                });
+            });
+        } catch (Exception e) {
+            System.err.println("Warning: Could not build location indexes: " + e.getMessage());
+        }
+    }
+}
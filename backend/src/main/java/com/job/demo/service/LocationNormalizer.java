@@ -0,0 +1,103 @@
+package com.job.demo.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+/**
+ * Turns free-text locations ("Bengaluru, India", "Remote (India)", "Bangalore / Hybrid")
+ * into a canonical place with coordinates, using the offline gazetteer bundled in
+ * resources/gazetteer/places.csv. Runs once at write time, never per query.
+ */
+@Service
+public class LocationNormalizer {
+
+    /** Result of normalizing one location string. Any field may be null. */
+    public static class Place {
+        private final String name;
+        private final String countryCode;
+        private final Double latitude;
+        private final Double longitude;
+        private final boolean remote;
+
+        public Place(String name, String countryCode, Double latitude, Double longitude, boolean remote) {
+            this.name = name;
+            this.countryCode = countryCode;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.remote = remote;
+        }
+
+        public String getName() { return name; }
+        public String getCountryCode() { return countryCode; }
+        public Double getLatitude() { return latitude; }
+        public Double getLongitude() { return longitude; }
+        public boolean isRemote() { return remote; }
+        public boolean hasCoordinates() { return latitude != null && longitude != null; }
+    }
+
+    private static final Place UNKNOWN = new Place(null, null, null, null, false);
+
+    // Lower-case name or alias -> gazetteer entry
+    private final Map<String, Place> places = new HashMap<>();
+
+    public LocationNormalizer() {
+        ClassPathResource gazetteer = new ClassPathResource("gazetteer/places.csv");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(gazetteer.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                String[] columns = line.split(",", -1);
+                Double latitude = columns[2].isEmpty() ? null : Double.valueOf(columns[2]);
+                Double longitude = columns[3].isEmpty() ? null : Double.valueOf(columns[3]);
+                Place place = new Place(columns[0], columns[1], latitude, longitude, false);
+                places.put(columns[0].toLowerCase(Locale.ROOT), place);
+                for (String alias : columns[4].split("\\|")) {
+                    if (!alias.isBlank()) places.putIfAbsent(alias.trim().toLowerCase(Locale.ROOT), place);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not load gazetteer", e);
+        }
+    }
+
+    public Place normalize(String location) {
+        if (location == null || location.isBlank()) return UNKNOWN;
+        String text = location.toLowerCase(Locale.ROOT);
+        boolean remote = text.contains("remote") || text.contains("work from home") || text.contains("wfh") || text.contains("anywhere");
+
+        // Most specific token wins: a city beats the country it sits in
+        Place city = null;
+        Place country = null;
+        for (String token : text.split("[,()/;|]+|\\s+-\\s+|\\s+or\\s+")) {
+            Place match = places.get(token.trim());
+            if (match == null) continue;
+            if (match.hasCoordinates()) {
+                if (city == null) city = match;
+            } else if (country == null) {
+                country = match;
+            }
+        }
+        // Fall back to single words ("Bangalore Karnataka"), cities only so "us" in a sentence isn't a country
+        if (city == null) {
+            for (String word : text.split("[^\\p{L}]+")) {
+                Place match = places.get(word);
+                if (match != null && match.hasCoordinates()) {
+                    city = match;
+                    break;
+                }
+            }
+        }
+
+        if (city != null) return new Place(city.name, city.countryCode, city.latitude, city.longitude, remote);
+        if (country != null) return new Place(country.name, country.countryCode, null, null, remote);
+        return new Place(null, null, null, null, remote);
+    }
+}
@@ -0,0 +1,65 @@
+package com.job.demo.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size histogram with logarithmic buckets (each ~2% wider than the last), so any
+ * quantile is accurate to about 1% of its value. Counts can go down as well as up, which
+ * lets aggregates follow profile edits, and two histograms merge by adding bucket counts.
+ */
+public class LogHistogram {
+
+    private static final double GAMMA = 1.02;
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    // Bucket 0 holds zero and negatives; the rest covers 1 .. ~2^31
+    private static final int BUCKETS = (int) Math.ceil(Math.log(Integer.MAX_VALUE) / LOG_GAMMA) + 2;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    public void add(long value) {
+        counts.incrementAndGet(bucketOf(value));
+    }
+
+    public void remove(long value) {
+        counts.decrementAndGet(bucketOf(value));
+    }
+
+    public void merge(LogHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) counts.addAndGet(i, count);
+        }
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) total += counts.get(i);
+        return total;
+    }
+
+    /** Approximate value at quantile q (0..1), or 0 when empty. */
+    public long quantile(double q) {
+        long total = count();
+        if (total <= 0) return 0;
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= Math.max(1, rank)) return valueOf(i);
+        }
+        return valueOf(BUCKETS - 1);
+    }
+
+    private static int bucketOf(long value) {
+        if (value <= 0) return 0;
+        int bucket = (int) Math.floor(Math.log(value) / LOG_GAMMA) + 1;
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    // Midpoint of the bucket, so the error is split either way
+    private static long valueOf(int bucket) {
+        if (bucket == 0) return 0;
+        double lower = Math.pow(GAMMA, bucket - 1);
+        return Math.round(lower * (1 + GAMMA) / 2);
+    }
+}
@@ -0,0 +1,137 @@
+package com.job.demo.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.job.demo.service.StorageBackend.StoredFile;
+
+/**
+ * Garbage-collects stored files that no profile points to any more.
+ *
+ * Both sides are walked in the same order (see ShardedLayout): the storage listing shard by
+ * shard, and the referenced file names streamed from MySQL sorted the same way. A merge over
+ * the two needs constant memory no matter how many files or profiles there are. References
+ * are read from the primary, and every batch of candidates is checked against it again just
+ * before deletion.
+ */
+@Component
+public class OrphanFileSweeper {
+
+    private static final int RECHECK_BATCH = 500;
+
+    // Folder -> user_profiles column that references it
+    private static final Map<String, String> REFERENCES = Map.of(
+            "profile-pictures", "profile_picture_url",
+            "resumes", "resume_url");
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    private SmallFileCache smallFileCache;
+
+    @Autowired
+    private DataSource dataSource;
+
+    // Files younger than this are never touched, so an upload whose profile row isn't committed yet is safe
+    @Value("${app.storage.sweeper.grace-period:6h}")
+    private Duration gracePeriod;
+
+    @Value("${app.storage.sweeper.dry-run:false}")
+    private boolean dryRun;
+
+    @Scheduled(cron = "${app.storage.sweeper.cron:0 30 3 * * *}")
+    public void sweep() {
+        for (Map.Entry<String, String> reference : REFERENCES.entrySet()) {
+            try {
+                sweepFolder(reference.getKey(), reference.getValue());
+            } catch (Exception e) {
+                System.err.println("Warning: Orphan sweep of " + reference.getKey() + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    int sweepFolder(String folder, String column) throws IOException {
+        long cutoff = System.currentTimeMillis() - gracePeriod.toMillis();
+        Iterator<StoredFile> files = storageBackend.listFiles(folder);
+        StoredFile[] next = { files.hasNext() ? files.next() : null };
+        List<StoredFile> candidates = new ArrayList<>();
+        int[] removed = { 0 };
+
+        // Forward-only MySQL streaming cursor: rows are read one at a time instead of buffered.
+        // No transaction, so it runs on the primary: a lagging replica could miss a fresh reference.
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+
+        String sql = "SELECT f FROM (SELECT SUBSTRING_INDEX(" + column + ", '/', -1) AS f FROM user_profiles"
+                + " WHERE " + column + " LIKE ?) refs"
+                + " ORDER BY LEFT(MD5(f), 4), CAST(f AS BINARY)";
+
+        jdbcTemplate.query(sql, rs -> {
+            String referenced = rs.getString(1);
+            // Everything sorting before the referenced name is unreferenced
+            while (next[0] != null && ShardedLayout.compare(next[0].getFileName(), referenced) < 0) {
+                if (next[0].getLastModifiedMillis() <= cutoff) candidates.add(next[0]);
+                if (candidates.size() >= RECHECK_BATCH) removed[0] += deleteUnreferenced(column, candidates);
+                next[0] = files.hasNext() ? files.next() : null;
+            }
+            if (next[0] != null && ShardedLayout.compare(next[0].getFileName(), referenced) == 0) {
+                next[0] = files.hasNext() ? files.next() : null;
+            }
+        }, "/uploads/" + folder + "/%");
+
+        // Only reached if the whole reference stream was read, so the tail really is unreferenced
+        while (next[0] != null) {
+            if (next[0].getLastModifiedMillis() <= cutoff) candidates.add(next[0]);
+            if (candidates.size() >= RECHECK_BATCH) removed[0] += deleteUnreferenced(column, candidates);
+            next[0] = files.hasNext() ? files.next() : null;
+        }
+        removed[0] += deleteUnreferenced(column, candidates);
+        return removed[0];
+    }
+
+    // Asks the primary once more, for the whole batch, right before deleting: a profile may have
+    // started pointing at one of these files since the stream passed it
+    private int deleteUnreferenced(String column, List<StoredFile> candidates) {
+        if (candidates.isEmpty()) return 0;
+        List<String> urls = candidates.stream().map(file -> "/uploads/" + file.getKey()).toList();
+        Set<String> stillReferenced = new HashSet<>(new JdbcTemplate(dataSource).queryForList(
+                "SELECT " + column + " FROM user_profiles WHERE " + column + " IN ("
+                        + String.join(",", Collections.nCopies(urls.size(), "?")) + ")",
+                String.class, urls.toArray()));
+        int removed = 0;
+        for (StoredFile file : candidates) {
+            if (!stillReferenced.contains("/uploads/" + file.getKey()) && delete(file)) removed++;
+        }
+        candidates.clear();
+        return removed;
+    }
+
+    private boolean delete(StoredFile file) {
+        if (dryRun) return true; // counted, but left in place
+        try {
+            smallFileCache.invalidate(file.getKey());
+            storageBackend.delete(file.getKey());
+            smallFileCache.invalidate(file.getKey()); // see FileStorageService.deleteFile
+            return true;
+        } catch (IOException e) {
+            System.err.println("Warning: Could not delete orphaned file: " + file.getKey());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.job.demo.service;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Something that reacts to profile changes (caches, indexes, scoring, notifications).
+ * Every bean implementing this is called by ProfileOutboxDispatcher after the change
+ * has committed.
+ *
+ * Delivery is at-least-once: if any handler fails, the same batch is delivered again
+ * to every handler, so handlers must be idempotent (see getLastEventId). Changes are coalesced, so a handler
+ * should reload the profile's current state rather than expect one call per write.
+ */
+public interface ProfileChangeHandler {
+
+    /** Everything that happened to one profile since it was last delivered. */
+    class ProfileChange {
+        private final long profileId;
+        private final Instant firstChangedAt;
+        private final Set<String> changeTypes = new LinkedHashSet<>();
+        private long lastEventId;
+        private boolean factsChanged;
+        private ProfileFacts factsBefore;
+        private ProfileFacts factsAfter;
+
+        public ProfileChange(long profileId, Instant firstChangedAt) {
+            this.profileId = profileId;
+            this.firstChangedAt = firstChangedAt;
+        }
+
+        /**
+         * Folds in one more edit that carried analytics facts. Edits are serialized on the
+         * profile row, so the net change is the first edit's "before" to the last one's "after".
+         */
+        public void addFacts(ProfileFacts before, ProfileFacts after) {
+            if (!factsChanged) {
+                factsBefore = before;
+                factsChanged = true;
+            }
+            factsAfter = after;
+        }
+
+        public long getProfileId() { return profileId; }
+        public Instant getFirstChangedAt() { return firstChangedAt; }
+        public Set<String> getChangeTypes() { return changeTypes; }
+        public long getLastEventId() { return lastEventId; }
+        public void setLastEventId(long lastEventId) { this.lastEventId = lastEventId; }
+        public boolean isFactsChanged() { return factsChanged; }
+        public ProfileFacts getFactsBefore() { return factsBefore; }
+        public ProfileFacts getFactsAfter() { return factsAfter; }
+    }
+
+    void onProfilesChanged(List<ProfileChange> changes);
+}
@@ -0,0 +1,214 @@
+package com.job.demo.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streams every matching candidate profile (with skills and links) as CSV or NDJSON.
+ *
+ * Rows come from a forward-only MySQL streaming cursor ordered by profile id, one per profile,
+ * so only the profile being written is held in memory, whatever the size of the export.
+ */
+@Lazy
+@Service
+public class ProfileExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String[] CSV_HEADER = {
+            "id", "fullName", "targetRole", "experienceYears", "remoteOnly", "preferredLocation",
+            "minSalary", "bio", "profilePictureUrl", "resumeUrl", "skills", "socialLinks" };
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /** Optional filters; null fields are ignored. */
+    public static class Filter {
+        private String role;
+        private String skill;
+        private String location;
+        private boolean includeRemote;
+
+        public String getRole() { return role; }
+        public void setRole(String role) { this.role = role; }
+        public String getSkill() { return skill; }
+        public void setSkill(String skill) { this.skill = skill; }
+        public String getLocation() { return location; }
+        public void setLocation(String location) { this.location = location; }
+        public boolean isIncludeRemote() { return includeRemote; }
+        public void setIncludeRemote(boolean includeRemote) { this.includeRemote = includeRemote; }
+    }
+
+    private static class ExportRow {
+        long id;
+        String fullName;
+        String targetRole;
+        int experienceYears;
+        boolean remoteOnly;
+        String preferredLocation;
+        int minSalary;
+        String bio;
+        String profilePictureUrl;
+        String resumeUrl;
+        final Set<String> skills = new LinkedHashSet<>();
+        final Set<String> links = new LinkedHashSet<>();
+    }
+
+    public void export(Filter filter, Format format, Writer out) throws IOException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT p.id, u.full_name, p.target_role, p.experience_years, p.remote_only, p.preferred_location,"
+                + " p.min_salary, p.bio, p.profile_picture_url, p.resume_url, p.github_profile, p.linkedin_profile,"
+                + " (SELECT GROUP_CONCAT(s.name ORDER BY s.name SEPARATOR '\\n') FROM profile_skills ps"
+                + "   JOIN skills s ON s.id = ps.skill_id WHERE ps.profile_id = p.id),"
+                + " (SELECT GROUP_CONCAT(l.link_url SEPARATOR '\\n') FROM user_profile_links l WHERE l.profile_id = p.id)"
+                + " FROM user_profiles p"
+                + " JOIN users u ON u.id = p.user_id"
+                + " WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (filter.getRole() != null && !filter.getRole().isBlank()) {
+            sql.append(" AND p.target_role = ?");
+            args.add(filter.getRole().trim());
+        }
+        if (filter.getLocation() != null && !filter.getLocation().isBlank()) {
+            // Remote-only candidates can work from anywhere, but are only included when asked for
+            sql.append(filter.isIncludeRemote() ? " AND (p.preferred_location LIKE ? OR p.remote_only = TRUE)"
+                    : " AND p.preferred_location LIKE ?");
+            args.add("%" + filter.getLocation().trim() + "%");
+        }
+        if (filter.getSkill() != null && !filter.getSkill().isBlank()) {
+            sql.append(" AND EXISTS (SELECT 1 FROM profile_skills fps JOIN skills fs ON fs.id = fps.skill_id"
+                    + " WHERE fps.profile_id = p.id AND fs.name = ?)");
+            args.add(filter.getSkill().trim());
+        }
+        sql.append(" ORDER BY p.id");
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(Integer.MIN_VALUE); // MySQL streaming result set
+
+        JsonGenerator json = null;
+        if (format == Format.NDJSON) {
+            json = objectMapper.getFactory().createGenerator(out);
+            json.setRootValueSeparator(null); // Lines are separated explicitly below
+        }
+        JsonGenerator generator = json;
+        if (format == Format.CSV) writeCsvLine(out, CSV_HEADER);
+
+        // One row per profile: skills and links are aggregated by their own subqueries rather than
+        // joined, which would multiply the rows (skills x links) for every profile
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.executeWithoutResult(status -> {
+                // Same connection as the query below; the default 1024 bytes would cut long lists short
+                jdbcTemplate.execute("SET SESSION group_concat_max_len = 1048576");
+                jdbcTemplate.query(sql.toString(), rs -> write(readProfile(rs), format, out, generator), args.toArray());
+            });
+        } catch (UncheckedIOException e) {
+            // Client went away mid-export
+            throw e.getCause();
+        }
+        if (json != null) json.flush();
+        out.flush();
+    }
+
+    private static ExportRow readProfile(ResultSet rs) throws SQLException {
+        ExportRow row = new ExportRow();
+        row.id = rs.getLong(1);
+        row.fullName = rs.getString(2);
+        row.targetRole = rs.getString(3);
+        row.experienceYears = rs.getInt(4);
+        row.remoteOnly = rs.getBoolean(5);
+        row.preferredLocation = rs.getString(6);
+        row.minSalary = rs.getInt(7);
+        row.bio = rs.getString(8);
+        row.profilePictureUrl = rs.getString(9);
+        row.resumeUrl = rs.getString(10);
+        // Legacy columns are merged into the links, same as /api/profile/me
+        if (rs.getString(11) != null && !rs.getString(11).isEmpty()) row.links.add(rs.getString(11));
+        if (rs.getString(12) != null && !rs.getString(12).isEmpty()) row.links.add(rs.getString(12));
+        addAll(row.skills, rs.getString(13));
+        addAll(row.links, rs.getString(14));
+        return row;
+    }
+
+    // GROUP_CONCAT output, newline separated; null when there is nothing to aggregate
+    private static void addAll(Set<String> target, String concatenated) {
+        if (concatenated == null) return;
+        for (String value : concatenated.split("\n")) {
+            if (!value.isEmpty()) target.add(value);
+        }
+    }
+
+    private void write(ExportRow row, Format format, Writer out, JsonGenerator json) {
+        try {
+            if (format == Format.CSV) {
+                writeCsvLine(out, new String[] {
+                        String.valueOf(row.id), row.fullName, row.targetRole, String.valueOf(row.experienceYears),
+                        String.valueOf(row.remoteOnly), row.preferredLocation, String.valueOf(row.minSalary), row.bio,
+                        row.profilePictureUrl, row.resumeUrl, String.join(";", row.skills), String.join(";", row.links) });
+            } else {
+                json.writeStartObject();
+                json.writeNumberField("id", row.id);
+                json.writeStringField("fullName", row.fullName);
+                json.writeStringField("targetRole", row.targetRole);
+                json.writeNumberField("experienceYears", row.experienceYears);
+                json.writeBooleanField("remoteOnly", row.remoteOnly);
+                json.writeStringField("preferredLocation", row.preferredLocation);
+                json.writeNumberField("minSalary", row.minSalary);
+                json.writeStringField("bio", row.bio);
+                json.writeStringField("profilePictureUrl", row.profilePictureUrl);
+                json.writeStringField("resumeUrl", row.resumeUrl);
+                json.writeArrayFieldStart("skills");
+                for (String skill : row.skills) json.writeString(skill);
+                json.writeEndArray();
+                json.writeArrayFieldStart("socialLinks");
+                for (String link : row.links) json.writeString(link);
+                json.writeEndArray();
+                json.writeEndObject();
+                json.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvLine(Writer out, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) out.write(',');
+            String value = values[i] == null ? "" : values[i];
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(value.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(value);
+            }
+        }
+        out.write("\r\n");
+    }
+}
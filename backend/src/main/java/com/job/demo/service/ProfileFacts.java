@@ -0,0 +1,54 @@
+package com.job.demo.service;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.job.demo.model.Skill;
+import com.job.demo.model.UserProfile;
+
+/**
+ * The parts of a profile the talent dashboards care about. An edit records the facts it
+ * replaced and the facts it wrote in its outbox event, so every instance can apply the same
+ * difference to its aggregates.
+ */
+public class ProfileFacts {
+    private final String targetRole;
+    private final int minSalary;
+    private final int experienceYears;
+    private final boolean remoteOnly;
+    private final String preferredLocation;
+    private final Set<String> skills;
+
+    @JsonCreator
+    public ProfileFacts(@JsonProperty("targetRole") String targetRole,
+                        @JsonProperty("minSalary") int minSalary,
+                        @JsonProperty("experienceYears") int experienceYears,
+                        @JsonProperty("remoteOnly") boolean remoteOnly,
+                        @JsonProperty("preferredLocation") String preferredLocation,
+                        @JsonProperty("skills") Set<String> skills) {
+        this.targetRole = targetRole;
+        this.minSalary = minSalary;
+        this.experienceYears = experienceYears;
+        this.remoteOnly = remoteOnly;
+        this.preferredLocation = preferredLocation;
+        this.skills = skills == null ? Set.of() : skills;
+    }
+
+    /** Null for a profile that hasn't been saved yet. */
+    public static ProfileFacts of(UserProfile profile) {
+        if (profile == null || profile.getId() == null) return null;
+        Set<String> skills = profile.getSkills() == null ? Set.of()
+                : profile.getSkills().stream().map(Skill::getName).collect(Collectors.toSet());
+        return new ProfileFacts(profile.getTargetRole(), profile.getMinSalary(), profile.getExperienceYears(),
+                profile.isRemoteOnly(), profile.getPreferredLocation(), skills);
+    }
+
+    public String getTargetRole() { return targetRole; }
+    public int getMinSalary() { return minSalary; }
+    public int getExperienceYears() { return experienceYears; }
+    public boolean isRemoteOnly() { return remoteOnly; }
+    public String getPreferredLocation() { return preferredLocation; }
+    public Set<String> getSkills() { return skills; }
+}
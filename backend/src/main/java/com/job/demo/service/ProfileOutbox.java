@@ -0,0 +1,50 @@
+package com.job.demo.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.job.demo.model.ProfileOutboxEvent;
+import com.job.demo.repository.ProfileOutboxRepository;
+
+/**
+ * Records profile changes for ProfileChangeHandlers. The event row must commit (or roll back)
+ * with the change itself, so recording outside a transaction is an error.
+ */
+@Service
+public class ProfileOutbox {
+
+    public static final String PROFILE = "profile";
+    public static final String PHOTO = "photo";
+    public static final String RESUME = "resume";
+
+    @Autowired
+    private ProfileOutboxRepository profileOutboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(long profileId, String changeType) {
+        profileOutboxRepository.save(new ProfileOutboxEvent(profileId, changeType));
+    }
+
+    /**
+     * Records a profile edit together with the analytics facts it replaced (null for a new
+     * profile) and wrote. The caller must hold the profile row lock while reading "before".
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordEdit(long profileId, ProfileFacts before, ProfileFacts after) {
+        ProfileOutboxEvent event = new ProfileOutboxEvent(profileId, PROFILE);
+        try {
+            event.setFactsBefore(before == null ? null : objectMapper.writeValueAsString(before));
+            event.setFactsAfter(objectMapper.writeValueAsString(after));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize profile facts", e);
+        }
+        profileOutboxRepository.save(event);
+    }
+}
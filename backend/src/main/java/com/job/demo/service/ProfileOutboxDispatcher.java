@@ -0,0 +1,199 @@
+package com.job.demo.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.job.demo.dto.OutboxStats;
+import com.job.demo.model.ProfileOutboxEvent;
+import com.job.demo.repository.ProfileOutboxRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Delivers the profile outbox to the registered ProfileChangeHandlers.
+ *
+ * The handlers keep per-JVM state (location index, feed decks), so every instance must see
+ * every event. Each instance therefore reads the outbox from its own cursor, the highest id it
+ * has delivered, instead of claiming and deleting rows. A poll reads the next batch, folds
+ * events for the same profile into one ProfileChange, hands the batch to every handler and
+ * then moves the cursor. A failing handler leaves the cursor where it was, and the same batch
+ * (no more, no fewer events) is retried on the next poll (at-least-once).
+ *
+ * Ids are allocated at insert but become visible at commit, so a lower id can show up after a
+ * higher one. Only events older than the settle delay are read. That closes the gap for any
+ * transaction that commits within the delay after recording its event, which is every caller
+ * here. Rows are deleted by age, well after every instance has read them.
+ */
+@Service
+public class ProfileOutboxDispatcher {
+
+    @Autowired
+    private ProfileOutboxRepository profileOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private List<ProfileChangeHandler> handlers = List.of();
+
+    @Value("${app.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.outbox.settle-delay:2s}")
+    private Duration settleDelay;
+
+    @Value("${app.outbox.retention:1h}")
+    private Duration retention;
+
+    // Highest event id this instance has delivered
+    private volatile long cursor;
+    // After a failure, the retry is capped at the failed batch so handlers see exactly the same batch again
+    private volatile long retryThrough = Long.MAX_VALUE;
+
+    private final AtomicLong deliveredEvents = new AtomicLong();
+    private final AtomicLong deliveredChanges = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private volatile long lastLagMs;
+    private final AtomicLong maxLagMs = new AtomicLong();
+    private volatile String lastError;
+
+    public ProfileOutboxDispatcher() { }
+
+    // For tests: wires what Spring would inject
+    ProfileOutboxDispatcher(ProfileOutboxRepository profileOutboxRepository, PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper, List<ProfileChangeHandler> handlers, int batchSize, Duration settleDelay) {
+        this.profileOutboxRepository = profileOutboxRepository;
+        this.transactionManager = transactionManager;
+        this.objectMapper = objectMapper;
+        this.handlers = handlers;
+        this.batchSize = batchSize;
+        this.settleDelay = settleDelay;
+    }
+
+    private static class Batch {
+        int events;
+        int changes;
+        Instant oldest;
+        long lastId;
+    }
+
+    // Start after what is already in the outbox: the handlers rebuild from the tables at startup
+    @PostConstruct
+    public void initCursor() {
+        cursor = profileOutboxRepository.findLastIdBefore(Instant.now().minus(settleDelay));
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void dispatch() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            Batch batch;
+            do {
+                batch = tx.execute(status -> dispatchBatch());
+                if (batch.events > 0) {
+                    cursor = batch.lastId;
+                    retryThrough = Long.MAX_VALUE;
+                    recordDelivered(batch);
+                }
+            } while (batch.events == batchSize);
+        } catch (Exception e) {
+            failedBatches.incrementAndGet();
+            lastError = e.getClass().getSimpleName() + ": " + e.getMessage();
+            System.err.println("Warning: Profile outbox dispatch failed, will retry: " + lastError);
+        }
+    }
+
+    private Batch dispatchBatch() {
+        Batch batch = new Batch();
+        List<ProfileOutboxEvent> events = profileOutboxRepository.findNextBatch(cursor, retryThrough,
+                Instant.now().minus(settleDelay), batchSize);
+        if (events.isEmpty()) return batch;
+
+        List<ProfileChangeHandler.ProfileChange> changes = coalesce(events, objectMapper);
+        retryThrough = events.get(events.size() - 1).getId();
+        for (ProfileChangeHandler handler : handlers) {
+            handler.onProfilesChanged(changes);
+        }
+
+        batch.events = events.size();
+        batch.changes = changes.size();
+        batch.oldest = events.get(0).getCreatedAt();
+        batch.lastId = events.get(events.size() - 1).getId();
+        return batch;
+    }
+
+    /** Folds events (in id order) into one ProfileChange per profile, in order of first appearance. */
+    static List<ProfileChangeHandler.ProfileChange> coalesce(List<ProfileOutboxEvent> events, ObjectMapper objectMapper) {
+        Map<Long, ProfileChangeHandler.ProfileChange> byProfile = new LinkedHashMap<>();
+        for (ProfileOutboxEvent event : events) {
+            ProfileChangeHandler.ProfileChange change = byProfile.computeIfAbsent(event.getProfileId(),
+                    id -> new ProfileChangeHandler.ProfileChange(id, event.getCreatedAt()));
+            change.getChangeTypes().add(event.getChangeType());
+            change.setLastEventId(event.getId());
+            if (event.getFactsAfter() != null) {
+                try {
+                    ProfileFacts before = event.getFactsBefore() == null ? null
+                            : objectMapper.readValue(event.getFactsBefore(), ProfileFacts.class);
+                    change.addFacts(before, objectMapper.readValue(event.getFactsAfter(), ProfileFacts.class));
+                } catch (Exception e) {
+                    System.err.println("Warning: Skipping unreadable profile facts in outbox event " + event.getId());
+                }
+            }
+        }
+        return new ArrayList<>(byProfile.values());
+    }
+
+    // Every instance runs this; deleting the same old rows twice is harmless
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval-ms:60000}")
+    public void removeDelivered() {
+        Instant cutoff = Instant.now().minus(retention);
+        try {
+            while (profileOutboxRepository.deleteOlderThan(cutoff, 10_000) == 10_000) { }
+        } catch (Exception e) {
+            System.err.println("Warning: Could not clean up profile outbox: " + e.getMessage());
+        }
+    }
+
+    private void recordDelivered(Batch batch) {
+        long lag = Math.max(0, Duration.between(batch.oldest, Instant.now()).toMillis());
+        deliveredEvents.addAndGet(batch.events);
+        deliveredChanges.addAndGet(batch.changes);
+        batches.incrementAndGet();
+        lastLagMs = lag;
+        maxLagMs.accumulateAndGet(lag, Math::max);
+    }
+
+    public OutboxStats getStats() {
+        OutboxStats stats = new OutboxStats();
+        long delivered = cursor;
+        stats.setPendingEvents(profileOutboxRepository.countByIdGreaterThan(delivered));
+        stats.setOldestPendingAgeMs(profileOutboxRepository.findFirstByIdGreaterThanOrderByIdAsc(delivered)
+                .map(event -> Math.max(0, Duration.between(event.getCreatedAt(), Instant.now()).toMillis()))
+                .orElse(0L));
+        stats.setDeliveredEvents(deliveredEvents.get());
+        stats.setDeliveredChanges(deliveredChanges.get());
+        stats.setBatches(batches.get());
+        stats.setFailedBatches(failedBatches.get());
+        stats.setLastLagMs(lastLagMs);
+        stats.setMaxLagMs(maxLagMs.get());
+        stats.setLastError(lastError);
+        return stats;
+    }
+}
@@ -0,0 +1,166 @@
+package com.job.demo.service;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Token buckets keyed by client (IP, account, ...), kept in a fixed number of stripes.
+ *
+ * Each bucket is a single AtomicLong holding [last refill time | tokens], so a request that
+ * passes costs one map lookup and one CAS. Memory is bounded by max-entries: idle buckets
+ * (ones that would be full again anyway) are swept, and when a stripe is still full new keys
+ * share that stripe's overflow bucket instead of growing the map. A full stripe is swept
+ * inline at most once a second, so a flood of new keys can't turn every request into a scan.
+ */
+@Service
+public class RateLimiter {
+
+    private static final int STRIPES = 16;
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    // Tokens are kept in thousandths so slow refill rates don't round down to nothing
+    private static final long SCALE = 1000;
+    public static final int MAX_CAPACITY = (int) (TOKEN_MASK / SCALE);
+    private static final long INLINE_SWEEP_INTERVAL_MS = 1000;
+
+    /** A bucket size and the time it takes to refill completely. */
+    public static class Limit {
+        private final long capacity;
+        private final long periodMillis;
+
+        public Limit(int capacity, Duration period) {
+            if (capacity < 1 || capacity > MAX_CAPACITY) {
+                throw new IllegalArgumentException("Rate limit capacity must be between 1 and " + MAX_CAPACITY);
+            }
+            this.capacity = capacity;
+            this.periodMillis = Math.max(1, period.toMillis());
+        }
+
+        // Parses "20/1m" style specs (capacity / refill period)
+        public static Limit parse(String spec) {
+            String[] parts = spec.trim().split("/");
+            if (parts.length != 2) throw new IllegalArgumentException("Invalid rate limit: " + spec);
+            return new Limit(Integer.parseInt(parts[0].trim()), DurationStyle.detectAndParse(parts[1].trim()));
+        }
+
+        public long getCapacity() { return capacity; }
+        public long getPeriodMillis() { return periodMillis; }
+    }
+
+    private final LongSupplier clock;
+    private final long epoch;
+    private final long idleMillis;
+    private final int maxEntriesPerStripe;
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final ConcurrentHashMap<String, AtomicLong>[] overflow;
+    private final AtomicLong[] lastInlineSweep;
+
+    @Autowired
+    public RateLimiter(@Value("${app.ratelimit.max-entries:100000}") int maxEntries,
+                       @Value("${app.ratelimit.idle-eviction:1h}") Duration idleEviction) {
+        this(maxEntries, idleEviction, System::currentTimeMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    public RateLimiter(int maxEntries, Duration idleEviction, LongSupplier clock) {
+        this.clock = clock;
+        this.idleMillis = idleEviction.toMillis();
+        this.epoch = clock.getAsLong();
+        this.maxEntriesPerStripe = Math.max(1, maxEntries / STRIPES);
+        this.stripes = new ConcurrentHashMap[STRIPES];
+        this.overflow = new ConcurrentHashMap[STRIPES];
+        this.lastInlineSweep = new AtomicLong[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+            overflow[i] = new ConcurrentHashMap<>();
+            lastInlineSweep[i] = new AtomicLong(-INLINE_SWEEP_INTERVAL_MS);
+        }
+    }
+
+    /**
+     * Takes one token from the bucket for this key.
+     * Returns 0 when the request may go ahead, otherwise the milliseconds until a token is available.
+     */
+    public long tryAcquire(String key, Limit limit) {
+        long now = now();
+        AtomicLong bucket = bucketFor(key, limit, now);
+
+        while (true) {
+            long state = bucket.get();
+            long last = state >>> TOKEN_BITS;
+            long tokens = state & TOKEN_MASK;
+            long max = limit.capacity * SCALE;
+
+            long elapsed = Math.min(Math.max(0, now - last), limit.periodMillis);
+            long refill = elapsed * max / limit.periodMillis;
+            long available = Math.min(max, tokens + refill);
+
+            if (available < SCALE) {
+                return ((SCALE - available) * limit.periodMillis + max - 1) / max;
+            }
+            // Only move the refill timestamp once at least one thousandth of a token was added
+            long stamp = refill > 0 ? now : last;
+            if (bucket.compareAndSet(state, pack(stamp, available - SCALE))) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) size += stripe.size();
+        return size;
+    }
+
+    @Scheduled(fixedDelayString = "${app.ratelimit.sweep-interval-ms:30000}")
+    public void evictIdle() {
+        long now = now();
+        for (int i = 0; i < STRIPES; i++) sweep(stripes[i], now);
+    }
+
+    private AtomicLong bucketFor(String key, Limit limit, long now) {
+        int index = (key.hashCode() & 0x7fffffff) % STRIPES;
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[index];
+
+        AtomicLong bucket = stripe.get(key);
+        if (bucket != null) return bucket;
+
+        if (stripe.size() >= maxEntriesPerStripe) {
+            // Only one caller per interval pays for the scan; the rest go straight to the overflow bucket
+            long last = lastInlineSweep[index].get();
+            if (now - last >= INLINE_SWEEP_INTERVAL_MS && lastInlineSweep[index].compareAndSet(last, now)) {
+                sweep(stripe, now);
+            }
+            if (stripe.size() >= maxEntriesPerStripe) {
+                // Table is full of active clients: make newcomers share one bucket per limit
+                String overflowKey = limit.capacity + "/" + limit.periodMillis;
+                return overflow[index].computeIfAbsent(overflowKey, k -> new AtomicLong(pack(now, limit.capacity * SCALE)));
+            }
+        }
+        AtomicLong fresh = new AtomicLong(pack(now, limit.capacity * SCALE));
+        AtomicLong existing = stripe.putIfAbsent(key, fresh);
+        return existing != null ? existing : fresh;
+    }
+
+    // A bucket untouched for longer than its period is full again, so dropping it changes nothing
+    // as long as the idle timeout is at least the longest configured period.
+    private void sweep(ConcurrentHashMap<String, AtomicLong> stripe, long now) {
+        stripe.values().removeIf(bucket -> now - (bucket.get() >>> TOKEN_BITS) >= idleMillis);
+    }
+
+    private long now() {
+        return clock.getAsLong() - epoch;
+    }
+
+    private static long pack(long millis, long tokens) {
+        return (millis << TOKEN_BITS) | tokens;
+    }
+}
@@ -0,0 +1,123 @@
+package com.job.demo.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Iterator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Stores files in an S3-compatible bucket, using the same hash-prefix layout as local disk.
+ * Works against AWS, or locally against MinIO by pointing app.storage.s3.endpoint at it
+ * (path-style addressing is always used).
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "s3")
+public class S3StorageBackend implements StorageBackend {
+
+    private final S3Client s3;
+    private final String bucket;
+
+    public S3StorageBackend(@Value("${app.storage.s3.bucket}") String bucket,
+                            @Value("${app.storage.s3.region:us-east-1}") String region,
+                            @Value("${app.storage.s3.endpoint:}") String endpoint,
+                            @Value("${app.storage.s3.access-key:}") String accessKey,
+                            @Value("${app.storage.s3.secret-key:}") String secretKey) {
+        this.bucket = bucket;
+        var builder = S3Client.builder()
+                .region(Region.of(region))
+                .forcePathStyle(true);
+        if (!endpoint.isBlank()) builder.endpointOverride(URI.create(endpoint));
+        if (!accessKey.isBlank()) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)));
+        }
+        this.s3 = builder.build();
+    }
+
+    @Override
+    public void store(String key, InputStream content, long size, String contentType) throws IOException {
+        try {
+            s3.putObject(PutObjectRequest.builder()
+                            .bucket(bucket)
+                            .key(ShardedLayout.shardedKey(key))
+                            .contentType(contentType != null ? contentType : "application/octet-stream")
+                            .build(),
+                    RequestBody.fromInputStream(content, size));
+        } catch (SdkException e) {
+            throw new IOException("Could not upload " + key, e);
+        }
+    }
+
+    @Override
+    public Resource load(String key) throws IOException {
+        try {
+            ResponseInputStream<GetObjectResponse> object = s3.getObject(GetObjectRequest.builder().bucket(bucket).key(ShardedLayout.shardedKey(key)).build());
+            long length = object.response().contentLength();
+            return new InputStreamResource(object) {
+                @Override
+                public long contentLength() {
+                    return length;
+                }
+            };
+        } catch (NoSuchKeyException e) {
+            return null;
+        } catch (SdkException e) {
+            throw new IOException("Could not download " + key, e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(ShardedLayout.shardedKey(key)).build());
+        } catch (SdkException e) {
+            throw new IOException("Could not delete " + key, e);
+        }
+    }
+
+    @Override
+    public Iterator<StoredFile> listFiles(String folder) throws IOException {
+        try {
+            // S3 lists keys in binary order, which for "<folder>/ab/cd/<file>" is shard order.
+            // The paginator fetches one page (1000 keys) at a time.
+            Iterator<S3Object> objects = s3
+                    .listObjectsV2Paginator(ListObjectsV2Request.builder().bucket(bucket).prefix(folder + "/").build())
+                    .contents()
+                    .iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return objects.hasNext();
+                }
+
+                @Override
+                public StoredFile next() {
+                    S3Object object = objects.next();
+                    return new StoredFile(ShardedLayout.logicalKey(object.key()), object.lastModified().toEpochMilli());
+                }
+            };
+        } catch (SdkException e) {
+            throw new IOException("Could not list " + folder, e);
+        }
+    }
+}
\ No newline at end of file
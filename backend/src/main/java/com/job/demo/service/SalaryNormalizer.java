@@ -0,0 +1,45 @@
+package com.job.demo.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Converts posted salaries ("2000 USD / month", "800 INR / hour") to a yearly INR amount,
+ * the unit UserProfile.minSalary is entered in.
+ */
+@Service
+public class SalaryNormalizer {
+
+    private static final Map<String, Integer> PERIODS_PER_YEAR = Map.of(
+            "year", 1,
+            "month", 12,
+            "week", 52,
+            "day", 260,
+            "hour", 2080);
+
+    private final Map<String, Double> inrRates = new HashMap<>();
+
+    // Entries like "USD=83.5"; rates only need to be roughly right for filtering
+    public SalaryNormalizer(@Value("${app.salary.inr-rates:INR=1}") List<String> rates) {
+        for (String rate : rates) {
+            String[] parts = rate.split("=");
+            if (parts.length == 2) inrRates.put(parts[0].trim().toUpperCase(Locale.ROOT), Double.valueOf(parts[1].trim()));
+        }
+        inrRates.putIfAbsent("INR", 1.0);
+    }
+
+    /** Yearly INR amount, or null when the salary is missing or in an unknown currency or unit. */
+    public Integer toAnnualInr(Integer amount, String currency, String unit) {
+        if (amount == null || amount <= 0) return null;
+        Double rate = inrRates.get(currency == null ? "INR" : currency.trim().toUpperCase(Locale.ROOT));
+        Integer periods = PERIODS_PER_YEAR.get(unit == null ? "year" : unit.trim().toLowerCase(Locale.ROOT));
+        if (rate == null || periods == null) return null;
+        double annual = amount * rate * periods;
+        return (int) Math.min(annual, Integer.MAX_VALUE);
+    }
+}
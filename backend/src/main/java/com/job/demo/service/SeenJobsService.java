@@ -0,0 +1,268 @@
+package com.job.demo.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import com.job.demo.model.SwipeHistory;
+import com.job.demo.model.User;
+import com.job.demo.repository.SwipeHistoryRepository;
+import com.job.demo.repository.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Jobs each user has already swiped on, as compressed (Roaring) bitmaps over job ids.
+ *
+ * Bitmaps are loaded when a user logs in, kept in memory while they are active and written
+ * back in the background, so a swipe is a bit flip and filtering a feed is a bitmap
+ * AND-NOT instead of an anti-join against a swipe table.
+ */
+@Service
+public class SeenJobsService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SwipeHistoryRepository swipeHistoryRepository;
+
+    @Value("${app.swipes.max-cached-users:50000}")
+    private int maxCachedUsers;
+
+    @Value("${app.swipes.idle-eviction-ms:1800000}")
+    private long idleEvictionMs;
+
+    static class Entry {
+        final long userId;
+        final RoaringBitmap seen;
+        final RoaringBitmap liked;
+        volatile long lastAccess = System.currentTimeMillis();
+        // Likes and un-likes not written back yet. Only these are applied on top of the stored
+        // bitmap, so likes another instance wrote for jobs this one didn't touch survive.
+        private RoaringBitmap likedSinceFlush = new RoaringBitmap();
+        private RoaringBitmap unlikedSinceFlush = new RoaringBitmap();
+        private boolean dirty;
+
+        Entry(long userId, RoaringBitmap seen, RoaringBitmap liked) {
+            this.userId = userId;
+            this.seen = seen;
+            this.liked = liked;
+        }
+
+        synchronized void swipe(int jobId, boolean like) {
+            seen.add(jobId);
+            if (like) {
+                liked.add(jobId);
+                likedSinceFlush.add(jobId);
+                unlikedSinceFlush.remove(jobId);
+            } else {
+                liked.remove(jobId);
+                unlikedSinceFlush.add(jobId);
+                likedSinceFlush.remove(jobId);
+            }
+            dirty = true;
+        }
+
+        /** Hands the unwritten changes to a flush, or null when there are none. */
+        synchronized Pending takePending() {
+            if (!dirty) return null;
+            Pending pending = new Pending(seen.clone(), likedSinceFlush, unlikedSinceFlush);
+            likedSinceFlush = new RoaringBitmap();
+            unlikedSinceFlush = new RoaringBitmap();
+            dirty = false;
+            return pending;
+        }
+
+        /** Adopts what was just stored, keeping any swipes made since takePending(). */
+        synchronized void written(RoaringBitmap storedSeen, RoaringBitmap storedLiked) {
+            seen.or(storedSeen);
+            liked.clear();
+            liked.or(storedLiked);
+            liked.or(likedSinceFlush);
+            liked.andNot(unlikedSinceFlush);
+        }
+
+        /** Puts changes back after a failed flush; a newer swipe on the same job wins. */
+        synchronized void restore(Pending pending) {
+            pending.liked.andNot(unlikedSinceFlush);
+            pending.unliked.andNot(likedSinceFlush);
+            likedSinceFlush.or(pending.liked);
+            unlikedSinceFlush.or(pending.unliked);
+            dirty = true;
+        }
+    }
+
+    static class Pending {
+        final RoaringBitmap seen;
+        final RoaringBitmap liked;
+        final RoaringBitmap unliked;
+
+        Pending(RoaringBitmap seen, RoaringBitmap liked, RoaringBitmap unliked) {
+            this.seen = seen;
+            this.liked = liked;
+            this.unliked = unliked;
+        }
+
+        /** Applies these changes to (copies of) the stored bitmaps. */
+        void applyTo(RoaringBitmap storedSeen, RoaringBitmap storedLiked) {
+            storedSeen.or(seen);
+            storedLiked.or(liked);
+            storedLiked.andNot(unliked);
+        }
+    }
+
+    private final Map<String, Entry> active = new ConcurrentHashMap<>();
+
+    private final ExecutorService preloader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "seen-jobs-preload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Warms the user's bitmaps off the request thread, e.g. right after login. */
+    public void preloadAsync(String email) {
+        if (active.containsKey(email)) return;
+        preloader.execute(() -> {
+            try {
+                entryFor(email);
+            } catch (RuntimeException e) {
+                System.err.println("Warning: Could not preload swipe history for " + email + ": " + e.getMessage());
+            }
+        });
+    }
+
+    public void recordSwipe(String email, int jobId, boolean liked) {
+        Entry entry = entryFor(email);
+        entry.swipe(jobId, liked);
+        // Evicted while we were updating it: nobody else will write this swipe back
+        if (active.get(email) != entry) flush(entry);
+    }
+
+    public boolean hasSeen(String email, int jobId) {
+        Entry entry = entryFor(email);
+        synchronized (entry) {
+            return entry.seen.contains(jobId);
+        }
+    }
+
+    /** Candidates minus everything the user already swiped on. */
+    public RoaringBitmap unseen(String email, RoaringBitmap candidates) {
+        Entry entry = entryFor(email);
+        synchronized (entry) {
+            return RoaringBitmap.andNot(candidates, entry.seen);
+        }
+    }
+
+    public int[] likedJobs(String email) {
+        Entry entry = entryFor(email);
+        synchronized (entry) {
+            return entry.liked.toArray();
+        }
+    }
+
+    private Entry entryFor(String email) {
+        Entry entry = active.get(email);
+        if (entry == null) {
+            if (active.size() >= maxCachedUsers) evictIdle();
+            entry = active.computeIfAbsent(email, this::load);
+        }
+        entry.lastAccess = System.currentTimeMillis();
+        return entry;
+    }
+
+    private Entry load(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+        SwipeHistory history = swipeHistoryRepository.findById(user.getId()).orElse(null);
+        if (history == null) return new Entry(user.getId(), new RoaringBitmap(), new RoaringBitmap());
+        return new Entry(user.getId(), deserialize(history.getSeenJobs()), deserialize(history.getLikedJobs()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.swipes.flush-interval-ms:5000}")
+    public void flushDirty() {
+        for (Entry entry : active.values()) {
+            flush(entry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.swipes.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleEvictionMs;
+        for (Map.Entry<String, Entry> e : active.entrySet()) {
+            // Removed first, then flushed, so a swipe racing with eviction is never lost (see recordSwipe)
+            if (e.getValue().lastAccess <= cutoff && active.remove(e.getKey(), e.getValue())) {
+                flush(e.getValue());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        preloader.shutdownNow();
+        flushDirty();
+    }
+
+    // Seen bits only ever grow, so they are OR-ed with what is stored. Likes can be taken back,
+    // so only this entry's own likes and un-likes since the last flush are applied to the stored
+    // bitmap. A write that races with another instance is retried against its fresh record.
+    private void flush(Entry entry) {
+        Pending pending = entry.takePending();
+        if (pending == null) return;
+        for (int attempt = 0; attempt < 3; attempt++) {
+            try {
+                SwipeHistory history = swipeHistoryRepository.findById(entry.userId).orElse(new SwipeHistory(entry.userId));
+                RoaringBitmap seen = deserialize(history.getSeenJobs());
+                RoaringBitmap liked = deserialize(history.getLikedJobs());
+                pending.applyTo(seen, liked);
+                history.setSeenJobs(serialize(seen));
+                history.setLikedJobs(serialize(liked));
+                swipeHistoryRepository.save(history);
+                entry.written(seen, liked);
+                return;
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // Another instance wrote first; apply our changes to its record instead
+            } catch (RuntimeException e) {
+                System.err.println("Warning: Could not save swipe history for user " + entry.userId + ": " + e.getMessage());
+                break;
+            }
+        }
+        entry.restore(pending);
+    }
+
+    private static byte[] serialize(RoaringBitmap bitmap) {
+        bitmap.runOptimize();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(bitmap.serializedSizeInBytes());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            bitmap.serialize(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static RoaringBitmap deserialize(byte[] data) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        if (data == null || data.length == 0) return bitmap;
+        try {
+            bitmap.deserialize(ByteBuffer.wrap(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,55 @@
+package com.job.demo.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Hash-prefix layout shared by the storage backends: "resumes/<file>" is stored as
+ * "resumes/3f/a2/<file>", where 3fa2 are the first hex digits of MD5(file).
+ *
+ * Listing a folder shard by shard therefore yields files ordered by
+ * (MD5 prefix, file name bytes), which is what compare() implements and what
+ * the orphan sweeper asks MySQL to sort by.
+ */
+public final class ShardedLayout {
+
+    private ShardedLayout() { }
+
+    public static String shardPrefix(String fileName) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(fileName.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 2);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** "resumes/cv.pdf" -> "resumes/3f/a2/cv.pdf" */
+    public static String shardedKey(String key) {
+        int slash = key.lastIndexOf('/');
+        String fileName = key.substring(slash + 1);
+        String prefix = shardPrefix(fileName);
+        return key.substring(0, slash) + "/" + prefix.substring(0, 2) + "/" + prefix.substring(2, 4) + "/" + fileName;
+    }
+
+    /** "resumes/3f/a2/cv.pdf" -> "resumes/cv.pdf" */
+    public static String logicalKey(String shardedKey) {
+        String[] parts = shardedKey.split("/");
+        return parts[0] + "/" + parts[parts.length - 1];
+    }
+
+    /** Orders file names the way a sharded listing returns them. */
+    public static int compare(String fileName, String otherFileName) {
+        int byShard = shardPrefix(fileName).compareTo(shardPrefix(otherFileName));
+        if (byShard != 0) return byShard;
+        return compareBytes(fileName, otherFileName);
+    }
+
+    // Binary UTF-8 order, matching S3 listings and MySQL's CAST(... AS BINARY)
+    public static int compareBytes(String a, String b) {
+        return Arrays.compareUnsigned(a.getBytes(StandardCharsets.UTF_8), b.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,151 @@
+package com.job.demo.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.job.demo.dto.FileCacheStats;
+
+/**
+ * Keeps the hottest small uploads (mostly avatars) in memory, bounded by total bytes.
+ *
+ * File contents live in direct ByteBuffers, outside the Java heap, so a full cache adds
+ * nothing for the GC to trace or copy. Eviction is LRU, but with TinyLFU admission: a new
+ * file only gets in if it has been requested more often recently than the entries it would
+ * push out, so a burst of one-off requests can't flush the faces that show up on every card.
+ */
+@Service
+public class SmallFileCache {
+
+    private final long maxBytes;
+    private final long maxFileSize;
+    private final FrequencySketch sketch;
+    // Access order: the eldest entry is the least recently used
+    private final LinkedHashMap<String, ByteBuffer> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long usedBytes;
+
+    private long hits;
+    private long misses;
+    private long admissions;
+    private long rejections;
+    private long evictions;
+    private long evictedBytes;
+    private long invalidations;
+
+    public SmallFileCache(@Value("${app.file-cache.max-size:64MB}") DataSize maxSize,
+                          @Value("${app.file-cache.max-file-size:256KB}") DataSize maxFileSize) {
+        this.maxBytes = maxSize.toBytes();
+        this.maxFileSize = Math.min(maxFileSize.toBytes(), Integer.MAX_VALUE);
+        // Sized for files averaging ~8KB, a typical thumbnail
+        this.sketch = new FrequencySketch((int) Math.min(1 << 24, Math.max(1024, maxBytes / 8192)));
+    }
+
+    /** A read-only view of the cached file, or null on a miss. Either way the access is counted. */
+    public synchronized ByteBuffer get(String key) {
+        sketch.increment(key);
+        ByteBuffer data = entries.get(key);
+        if (data == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return data.asReadOnlyBuffer();
+    }
+
+    /**
+     * Reads the file into the cache if it is small enough and popular enough to displace what
+     * it would evict. Returns the cached view, or null if the caller should stream the resource.
+     */
+    public ByteBuffer cacheIfAdmitted(String key, Resource resource) throws IOException {
+        long size = resource.contentLength();
+        if (size <= 0 || size > maxFileSize || size > maxBytes) return null;
+        long epoch;
+        synchronized (this) {
+            epoch = invalidations;
+            if (victimsFor(key, size) == null) {
+                rejections++;
+                return null;
+            }
+        }
+
+        ByteBuffer data = ByteBuffer.allocateDirect((int) size);
+        try (ReadableByteChannel channel = resource.readableChannel()) {
+            while (data.hasRemaining() && channel.read(data) != -1) { }
+            if (data.hasRemaining() || channel.read(ByteBuffer.allocate(1)) != -1) {
+                throw new IOException("File changed size while being read: " + key);
+            }
+        }
+        data.flip();
+
+        synchronized (this) {
+            if (entries.containsKey(key)) return entries.get(key).asReadOnlyBuffer();
+            // A file deleted while we were reading must not come back to life in the cache
+            if (invalidations != epoch) return data.asReadOnlyBuffer();
+            // Recheck: other files may have come in while we were reading
+            List<String> victims = victimsFor(key, size);
+            if (victims == null) {
+                rejections++;
+                return data.asReadOnlyBuffer();
+            }
+            for (String victim : victims) {
+                int freed = entries.remove(victim).capacity();
+                usedBytes -= freed;
+                evictedBytes += freed;
+                evictions++;
+            }
+            entries.put(key, data);
+            usedBytes += size;
+            admissions++;
+        }
+        return data.asReadOnlyBuffer();
+    }
+
+    public synchronized void invalidate(String key) {
+        invalidations++;
+        ByteBuffer removed = entries.remove(key);
+        if (removed != null) usedBytes -= removed.capacity();
+    }
+
+    // Least recently used entries that must go to make room, or null if the file shouldn't be admitted
+    private List<String> victimsFor(String key, long size) {
+        List<String> victims = new ArrayList<>();
+        long toFree = usedBytes + size - maxBytes;
+        if (toFree <= 0) return victims;
+
+        int candidateFrequency = sketch.frequency(key);
+        Iterator<Map.Entry<String, ByteBuffer>> eldest = entries.entrySet().iterator();
+        while (toFree > 0 && eldest.hasNext()) {
+            Map.Entry<String, ByteBuffer> victim = eldest.next();
+            if (sketch.frequency(victim.getKey()) >= candidateFrequency) return null;
+            victims.add(victim.getKey());
+            toFree -= victim.getValue().capacity();
+        }
+        return victims;
+    }
+
+    public synchronized FileCacheStats getStats() {
+        FileCacheStats stats = new FileCacheStats();
+        stats.setHits(hits);
+        stats.setMisses(misses);
+        stats.setHitRate(hits + misses == 0 ? 0 : (double) hits / (hits + misses));
+        stats.setAdmissions(admissions);
+        stats.setRejections(rejections);
+        stats.setEvictions(evictions);
+        stats.setEvictedBytes(evictedBytes);
+        stats.setInvalidations(invalidations);
+        stats.setEntries(entries.size());
+        stats.setUsedBytes(usedBytes);
+        stats.setMaxBytes(maxBytes);
+        return stats;
+    }
+}
@@ -0,0 +1,56 @@
+package com.job.demo.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Where uploaded files physically live. Keys look like "profile-pictures/<uuid>_photo.jpg",
+ * i.e. the public URL without the "/uploads/" prefix, so stored URLs never change
+ * whatever backend is behind them.
+ */
+public interface StorageBackend {
+
+    /** One entry of a folder listing. */
+    class StoredFile {
+        private final String key;
+        private final long lastModifiedMillis;
+
+        public StoredFile(String key, long lastModifiedMillis) {
+            this.key = key;
+            this.lastModifiedMillis = lastModifiedMillis;
+        }
+
+        public String getKey() { return key; }
+        public String getFileName() { return key.substring(key.lastIndexOf('/') + 1); }
+        public long getLastModifiedMillis() { return lastModifiedMillis; }
+    }
+
+    void store(String key, InputStream content, long size, String contentType) throws IOException;
+
+    /** Returns the stored file, or null if there is nothing under this key. */
+    Resource load(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * Lazily lists every file in a folder in ShardedLayout order, holding at most
+     * one shard (or one listing page) in memory at a time.
+     */
+    Iterator<StoredFile> listFiles(String folder) throws IOException;
+
+    /**
+     * Moves a file that is already on local disk into this backend (migrator, chunked uploads).
+     * contentType may be null, in which case it is guessed from the file name.
+     */
+    default void importFile(String key, Path source, String contentType) throws IOException {
+        try (InputStream in = Files.newInputStream(source)) {
+            store(key, in, Files.size(source), contentType != null ? contentType : Files.probeContentType(source));
+        }
+        Files.delete(source);
+    }
+}
@@ -0,0 +1,70 @@
+package com.job.demo.service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves files from the old flat uploads/<folder>/ directories into the storage backend
+ * while the app keeps serving. FileStorageService falls back to the flat layout, so a
+ * file is readable at every point of its move.
+ */
+@Component
+public class StorageMigrator {
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Value("${app.storage.migrate-on-startup:true}")
+    private boolean migrateOnStartup;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!migrateOnStartup) return;
+        Thread worker = new Thread(this::migrate, "storage-migrator");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** Returns the number of files moved. */
+    public int migrate() {
+        if (!running.compareAndSet(false, true)) return 0;
+        int moved = 0;
+        try {
+            for (String folder : FileStorageService.FOLDERS) {
+                Path dir = fileStorageService.getLegacyDir().resolve(folder);
+                if (!Files.isDirectory(dir)) continue;
+
+                // Streams the listing instead of loading millions of names at once
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, Files::isRegularFile)) {
+                    for (Path file : files) {
+                        try {
+                            storageBackend.importFile(FileStorageService.toKey(folder, file.getFileName().toString()), file, null);
+                            moved++;
+                        } catch (IOException | IllegalArgumentException e) {
+                            System.err.println("Warning: Could not migrate file " + file + ": " + e.getMessage());
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Storage migration stopped: " + e.getMessage());
+        } finally {
+            running.set(false);
+        }
+        return moved;
+    }
+}
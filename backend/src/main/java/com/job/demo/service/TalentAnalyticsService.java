@@ -0,0 +1,229 @@
+package com.job.demo.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.job.demo.dto.TalentAnalyticsResponse;
+
+/**
+ * Dashboard aggregates over all candidate profiles (skill popularity, salary and experience
+ * distributions, remote vs on-site by target role), kept up to date by applying the
+ * difference between a profile's old and new values on every save. The difference travels
+ * in the profile outbox event, so every instance applies every edit, whichever one served it.
+ *
+ * Everything is counters and fixed-size histograms, so reading the dashboard costs the
+ * same with a thousand profiles or ten million. Built once at startup from a streaming scan.
+ */
+@Service
+public class TalentAnalyticsService implements ProfileChangeHandler {
+
+    private static final int MAX_ROLES = 500;
+    private static final int MAX_LOCATIONS_PER_ROLE = 200;
+    private static final int MAX_SKILLS = 20_000;
+    private static final int EXPERIENCE_BINS = 41; // 0..39 years, 40+
+    private static final String OTHER = "other";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static class RoleStats {
+        final LongAdder profiles = new LongAdder();
+        final LongAdder remoteOnly = new LongAdder();
+        final LogHistogram salary = new LogHistogram();
+        final AtomicLongArray experience = new AtomicLongArray(EXPERIENCE_BINS);
+        final ConcurrentHashMap<String, LongAdder> locations = new ConcurrentHashMap<>();
+    }
+
+    private static class Aggregates {
+        final RoleStats all = new RoleStats();
+        final ConcurrentHashMap<String, RoleStats> byRole = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, LongAdder> skills = new ConcurrentHashMap<>();
+
+        void apply(ProfileFacts facts, int sign) {
+            String role = key(facts.getTargetRole(), byRole, MAX_ROLES);
+            apply(all, facts, sign);
+            apply(byRole.computeIfAbsent(role, r -> new RoleStats()), facts, sign);
+            for (String skill : facts.getSkills()) {
+                skills.computeIfAbsent(key(skill, skills, MAX_SKILLS), s -> new LongAdder()).add(sign);
+            }
+        }
+
+        private static void apply(RoleStats stats, ProfileFacts facts, int sign) {
+            stats.profiles.add(sign);
+            int bin = Math.max(0, Math.min(facts.getExperienceYears(), EXPERIENCE_BINS - 1));
+            stats.experience.addAndGet(bin, sign);
+            if (sign > 0) stats.salary.add(facts.getMinSalary()); else stats.salary.remove(facts.getMinSalary());
+            if (facts.isRemoteOnly()) {
+                stats.remoteOnly.add(sign);
+            } else {
+                String location = key(facts.getPreferredLocation(), stats.locations, MAX_LOCATIONS_PER_ROLE);
+                stats.locations.computeIfAbsent(location, l -> new LongAdder()).add(sign);
+            }
+        }
+
+        // Free text keys are normalised and capped so a flood of distinct values can't grow memory
+        private static String key(String value, Map<String, ?> existing, int max) {
+            String normalized = value == null || value.isBlank() ? "unspecified" : value.trim().toLowerCase(Locale.ROOT);
+            if (existing.containsKey(normalized) || existing.size() < max) return normalized;
+            return OTHER;
+        }
+    }
+
+    private volatile Aggregates aggregates = new Aggregates();
+
+    // Edits made while a rebuild scans, replayed onto the fresh aggregates before they go live
+    private final Object rebuildLock = new Object();
+    private List<ProfileFacts[]> pendingDuringRebuild;
+
+    // Highest outbox event applied; a redelivered batch (another handler failed) is skipped
+    private volatile long appliedThrough;
+
+    @Override
+    public void onProfilesChanged(List<ProfileChange> changes) {
+        long applied = appliedThrough;
+        long highest = applied;
+        for (ProfileChange change : changes) {
+            if (change.getLastEventId() <= applied) continue;
+            if (change.isFactsChanged()) onProfileChanged(change.getFactsBefore(), change.getFactsAfter());
+            highest = Math.max(highest, change.getLastEventId());
+        }
+        appliedThrough = highest;
+    }
+
+    /** Applies one profile edit. Either side may be null (new profile, deleted profile). */
+    void onProfileChanged(ProfileFacts before, ProfileFacts after) {
+        Aggregates current;
+        synchronized (rebuildLock) {
+            if (pendingDuringRebuild != null) pendingDuringRebuild.add(new ProfileFacts[] { before, after });
+            current = aggregates;
+        }
+        if (before != null) current.apply(before, -1);
+        if (after != null) current.apply(after, +1);
+    }
+
+    /**
+     * Rebuilds from a full scan. Edits arriving meanwhile still go to the live aggregates and are
+     * also buffered; the scan may or may not have seen them, so once it finishes they are
+     * replayed onto the fresh aggregates under the same lock that swaps them in. Only an edit
+     * committed in the moment between the buffer opening and the scan's first read (which fixes
+     * its snapshot) can end up counted twice.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            if (pendingDuringRebuild != null) return; // already rebuilding
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        Aggregates fresh = new Aggregates();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(Integer.MIN_VALUE); // MySQL streaming result set
+
+        String sql = "SELECT p.id, p.target_role, p.min_salary, p.experience_years, p.remote_only, p.preferred_location, s.name"
+                + " FROM user_profiles p"
+                + " LEFT JOIN profile_skills ps ON ps.profile_id = p.id"
+                + " LEFT JOIN skills s ON s.id = ps.skill_id"
+                + " ORDER BY p.id";
+
+        // Rows come grouped by profile; a profile is applied as soon as the next one starts
+        long[] currentId = { -1 };
+        ProfileFacts[] current = { null };
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.executeWithoutResult(status -> jdbcTemplate.query(sql, rs -> {
+                long id = rs.getLong(1);
+                if (id != currentId[0]) {
+                    if (current[0] != null) fresh.apply(current[0], +1);
+                    currentId[0] = id;
+                    current[0] = new ProfileFacts(rs.getString(2), rs.getInt(3), rs.getInt(4), rs.getBoolean(5),
+                            rs.getString(6), new HashSet<>());
+                }
+                String skill = rs.getString(7);
+                if (skill != null) current[0].getSkills().add(skill);
+            }));
+            if (current[0] != null) fresh.apply(current[0], +1);
+            synchronized (rebuildLock) {
+                for (ProfileFacts[] edit : pendingDuringRebuild) {
+                    if (edit[0] != null) fresh.apply(edit[0], -1);
+                    if (edit[1] != null) fresh.apply(edit[1], +1);
+                }
+                aggregates = fresh;
+            }
+        } catch (Exception e) {
+            System.err.println("Warning: Could not rebuild talent analytics: " + e.getMessage());
+        } finally {
+            synchronized (rebuildLock) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    public TalentAnalyticsResponse getSnapshot(int topSkills) {
+        Aggregates current = aggregates;
+        TalentAnalyticsResponse response = new TalentAnalyticsResponse();
+        response.setOverall(toRoleSummary("all", current.all));
+
+        List<TalentAnalyticsResponse.RoleSummary> roles = new ArrayList<>();
+        current.byRole.forEach((role, stats) -> {
+            if (stats.profiles.sum() > 0) roles.add(toRoleSummary(role, stats));
+        });
+        roles.sort(Comparator.comparingLong(TalentAnalyticsResponse.RoleSummary::getProfiles).reversed());
+        response.setRoles(roles);
+
+        Map<String, Long> skills = new LinkedHashMap<>();
+        current.skills.entrySet().stream()
+                .map(e -> Map.entry(e.getKey(), e.getValue().sum()))
+                .filter(e -> e.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(topSkills)
+                .forEach(e -> skills.put(e.getKey(), e.getValue()));
+        response.setTopSkills(skills);
+        return response;
+    }
+
+    private static TalentAnalyticsResponse.RoleSummary toRoleSummary(String role, RoleStats stats) {
+        TalentAnalyticsResponse.RoleSummary summary = new TalentAnalyticsResponse.RoleSummary();
+        summary.setRole(role);
+        summary.setProfiles(stats.profiles.sum());
+        summary.setRemoteOnly(stats.remoteOnly.sum());
+
+        Map<String, Long> salary = new LinkedHashMap<>();
+        for (double q : new double[] { 0.1, 0.25, 0.5, 0.75, 0.9 }) {
+            salary.put("p" + Math.round(q * 100), stats.salary.quantile(q));
+        }
+        summary.setMinSalaryPercentiles(salary);
+
+        long[] experience = new long[EXPERIENCE_BINS];
+        for (int i = 0; i < EXPERIENCE_BINS; i++) experience[i] = stats.experience.get(i);
+        summary.setExperienceHistogram(experience);
+
+        Map<String, Long> locations = new LinkedHashMap<>();
+        stats.locations.entrySet().stream()
+                .map(e -> Map.entry(e.getKey(), e.getValue().sum()))
+                .filter(e -> e.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(e -> locations.put(e.getKey(), e.getValue()));
+        summary.setLocations(locations);
+        return summary;
+    }
+}
@@ -0,0 +1,132 @@
+package com.job.demo.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel for id deadlines.
+ *
+ * The finest wheel has wheelSize slots of tickMs each. Deadlines beyond its span go to an
+ * overflow wheel whose tick is the whole span of the wheel below, and so on, so a month of
+ * one-minute ticks needs three small wheels. Scheduling is O(1). Each tick drains one slot,
+ * and a timer is moved down at most once per level, so firing a timer is O(1) amortized
+ * whatever the number of pending timers. Rescheduling or cancelling just updates the
+ * id's deadline; timers that no longer match it are dropped when their slot comes up.
+ */
+public class TimingWheel {
+
+    private static class Timer {
+        final long id;
+        final long deadline;
+
+        Timer(long id, long deadline) {
+            this.id = id;
+            this.deadline = deadline;
+        }
+    }
+
+    private static class Level {
+        final long tickMs;
+        final long spanMs;
+        final List<Timer>[] slots;
+        // Start of the first tick not yet drained; always a multiple of tickMs
+        long currentTime;
+        Level overflow;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.spanMs = tickMs * wheelSize;
+            this.slots = new List[wheelSize];
+            this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+        }
+
+        List<Timer> slot(long time) {
+            int index = (int) Math.floorMod(Math.floorDiv(time, tickMs), (long) slots.length);
+            if (slots[index] == null) slots[index] = new ArrayList<>();
+            return slots[index];
+        }
+    }
+
+    private final int wheelSize;
+    private final Level root;
+    private final Map<Long, Long> deadlines = new HashMap<>();
+    private final List<Timer> due = new ArrayList<>();
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.wheelSize = wheelSize;
+        this.root = new Level(tickMs, wheelSize, startMs);
+    }
+
+    /** Schedules (or moves) the id's deadline. A deadline already past fires on the next advance. */
+    public synchronized void schedule(long id, long deadlineMs) {
+        deadlines.put(id, deadlineMs);
+        place(new Timer(id, deadlineMs));
+    }
+
+    public synchronized void cancel(long id) {
+        deadlines.remove(id);
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * Moves the clock to nowMs and returns the ids whose deadline has passed. Deadlines are
+     * rounded up to the end of their tick, so an id fires up to one tick late, never early.
+     */
+    public synchronized List<Long> advance(long nowMs) {
+        List<Long> expired = new ArrayList<>();
+        for (Timer timer : due) fire(timer.id, timer.deadline, expired);
+        due.clear();
+
+        while (root.currentTime + root.tickMs <= nowMs) {
+            List<Timer> slot = root.slot(root.currentTime);
+            List<Timer> timers = new ArrayList<>(slot);
+            slot.clear();
+            root.currentTime += root.tickMs;
+            if (Math.floorMod(root.currentTime, root.spanMs) == 0) cascade(root.overflow, root.currentTime);
+            for (Timer timer : timers) fire(timer.id, timer.deadline, expired);
+        }
+        return expired;
+    }
+
+    private void fire(long id, long deadline, List<Long> expired) {
+        // Stale timers (cancelled, or rescheduled to another deadline) are skipped
+        Long current = deadlines.get(id);
+        if (current != null && current == deadline) {
+            deadlines.remove(id);
+            expired.add(id);
+        }
+    }
+
+    // The higher wheel's slot for this tick now falls inside the lower wheels' span: move it down
+    private void cascade(Level level, long time) {
+        if (level == null) return;
+        level.currentTime = time;
+        if (Math.floorMod(time, level.spanMs) == 0) cascade(level.overflow, time);
+        List<Timer> slot = level.slot(time);
+        List<Timer> timers = new ArrayList<>(slot);
+        slot.clear();
+        for (Timer timer : timers) {
+            Long current = deadlines.get(timer.id);
+            if (current != null && current == timer.deadline) place(timer);
+        }
+    }
+
+    private void place(Timer timer) {
+        if (timer.deadline < root.currentTime) {
+            due.add(timer);
+            return;
+        }
+        Level level = root;
+        while (timer.deadline >= level.currentTime + level.spanMs) {
+            if (level.overflow == null) level.overflow = new Level(level.spanMs, wheelSize, level.currentTime);
+            level = level.overflow;
+        }
+        level.slot(timer.deadline).add(timer);
+    }
+}
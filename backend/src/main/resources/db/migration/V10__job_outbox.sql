@@ -0,0 +1,10 @@
+-- Job change events, written in the same transaction as the job change. Every instance reads
+-- them from its own cursor and reloads the job into its in-memory indexes; rows are removed
+-- by age once every instance is past them.
+CREATE TABLE job_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    job_id BIGINT NOT NULL,
+    created_at DATETIME(3) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+CREATE INDEX idx_job_outbox_created_at ON job_outbox (created_at);
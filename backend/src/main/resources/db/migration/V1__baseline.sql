@@ -0,0 +1,52 @@
+-- Schema as previously generated by spring.jpa.hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate),
+-- so this only runs against an empty schema.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    email VARCHAR(255),
+    full_name VARCHAR(255),
+    password VARCHAR(255),
+    phone_number VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_profiles (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    bio VARCHAR(1000),
+    experience_years INT NOT NULL,
+    github_profile VARCHAR(255),
+    linkedin_profile VARCHAR(255),
+    min_salary INT NOT NULL,
+    preferred_location VARCHAR(255),
+    profile_picture_url VARCHAR(255),
+    remote_only BIT NOT NULL,
+    resume_url VARCHAR(255),
+    target_role VARCHAR(255),
+    user_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_profiles_user UNIQUE (user_id),
+    CONSTRAINT fk_user_profiles_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE skills (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_skills_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE profile_skills (
+    profile_id BIGINT NOT NULL,
+    skill_id BIGINT NOT NULL,
+    PRIMARY KEY (profile_id, skill_id),
+    CONSTRAINT fk_profile_skills_profile FOREIGN KEY (profile_id) REFERENCES user_profiles (id),
+    CONSTRAINT fk_profile_skills_skill FOREIGN KEY (skill_id) REFERENCES skills (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_profile_links (
+    profile_id BIGINT NOT NULL,
+    link_url VARCHAR(255),
+    CONSTRAINT fk_user_profile_links_profile FOREIGN KEY (profile_id) REFERENCES user_profiles (id)
+) ENGINE = InnoDB;
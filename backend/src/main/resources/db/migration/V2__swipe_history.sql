@@ -0,0 +1,10 @@
+-- One row per user: every job they have swiped on, and the subset they liked,
+-- as serialized Roaring bitmaps over job ids.
+CREATE TABLE swipe_history (
+    user_id BIGINT NOT NULL,
+    seen_jobs LONGBLOB,
+    liked_jobs LONGBLOB,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id),
+    CONSTRAINT fk_swipe_history_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,29 @@
+CREATE TABLE jobs (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255),
+    company VARCHAR(255),
+    company_logo VARCHAR(255),
+    rating DOUBLE NOT NULL DEFAULT 0,
+    location VARCHAR(255),
+    job_type VARCHAR(255),
+    work_mode VARCHAR(255),
+    category VARCHAR(255),
+    salary_amount INT,
+    salary_currency VARCHAR(255),
+    salary_unit VARCHAR(255),
+    posted_ago VARCHAR(255),
+    description VARCHAR(5000),
+    apply_url VARCHAR(1000),
+    place_name VARCHAR(255),
+    country_code VARCHAR(8),
+    latitude DOUBLE,
+    longitude DOUBLE,
+    remote BIT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Canonical place for the free-text preferred location, filled in on save
+ALTER TABLE user_profiles
+    ADD COLUMN preferred_place VARCHAR(255),
+    ADD COLUMN preferred_latitude DOUBLE,
+    ADD COLUMN preferred_longitude DOUBLE;
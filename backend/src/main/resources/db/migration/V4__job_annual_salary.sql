@@ -0,0 +1,2 @@
+-- Salary normalized to a yearly amount in INR (same unit as user_profiles.min_salary)
+ALTER TABLE jobs ADD COLUMN annual_salary INT;
@@ -0,0 +1,3 @@
+-- Reposts of an existing opening point at the posting they duplicate; NULL for canonical postings
+ALTER TABLE jobs ADD COLUMN canonical_job_id BIGINT;
+CREATE INDEX idx_jobs_canonical_job_id ON jobs (canonical_job_id);
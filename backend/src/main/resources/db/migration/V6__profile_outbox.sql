@@ -0,0 +1,9 @@
+-- Profile change events, written in the same transaction as the profile change itself and
+-- deleted by ProfileOutboxDispatcher once every in-process handler has seen them.
+CREATE TABLE profile_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    profile_id BIGINT NOT NULL,
+    change_type VARCHAR(32) NOT NULL,
+    created_at DATETIME(3) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
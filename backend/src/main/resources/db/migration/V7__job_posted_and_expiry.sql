@@ -0,0 +1,7 @@
+-- Real timestamps behind the postedAgo display string. Existing postings are treated as
+-- posted now and get the default 30 day lifetime.
+ALTER TABLE jobs
+    ADD COLUMN posted_at DATETIME(3),
+    ADD COLUMN expires_at DATETIME(3);
+UPDATE jobs SET posted_at = NOW(3), expires_at = NOW(3) + INTERVAL 30 DAY WHERE posted_at IS NULL;
+CREATE INDEX idx_jobs_expires_at ON jobs (expires_at);
@@ -0,0 +1,3 @@
+-- Outbox rows are no longer deleted on delivery: each instance reads them from its own
+-- cursor, and ProfileOutboxDispatcher removes them by age once every instance is past them.
+CREATE INDEX idx_profile_outbox_created_at ON profile_outbox (created_at);
@@ -0,0 +1,5 @@
+-- Profile edits carry the analytics facts they replaced and wrote (JSON), so every instance
+-- can apply the same difference to its dashboards. NULL for events that don't touch them.
+ALTER TABLE profile_outbox
+    ADD COLUMN facts_before TEXT NULL,
+    ADD COLUMN facts_after TEXT NULL;
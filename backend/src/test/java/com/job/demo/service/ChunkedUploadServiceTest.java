@@ -0,0 +1,159 @@
+package com.job.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.job.demo.dto.ChunkedUploadRequest;
+import com.job.demo.dto.ChunkedUploadStatus;
+
+class ChunkedUploadServiceTest {
+
+    // Ten bytes in chunks of four: the last chunk is short
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] stored;
+    private Path storedFrom;
+
+    private final FileStorageService storage = new FileStorageService("uploads") {
+        @Override
+        public String storeFile(Path source, String originalFileName, String contentType, String subDir) {
+            try {
+                stored = Files.readAllBytes(source);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            storedFrom = source;
+            return "/uploads/" + subDir + "/" + originalFileName;
+        }
+    };
+
+    private ChunkedUploadService newService() throws IOException {
+        Path dir = Files.createTempDirectory("chunked-upload-test");
+        return new ChunkedUploadService(storage, dir.toString(), DataSize.ofBytes(64), DataSize.ofBytes(4), Duration.ofHours(1), 2);
+    }
+
+    @Test
+    void chunksSentOutOfOrderAreReassembledInPlace() throws Exception {
+        ChunkedUploadService service = newService();
+        String id = service.create("a@x", "resumes", request(sha256(CONTENT))).getUploadId();
+
+        write(service, id, 8);
+        write(service, id, 0);
+        ChunkedUploadStatus status = write(service, id, 4);
+        assertEquals(10, status.getReceivedBytes());
+        assertEquals(List.of(), status.getMissingOffsets());
+
+        assertEquals("/uploads/resumes/cv.pdf", service.complete("a@x", id));
+        assertArrayEquals(CONTENT, stored);
+        // The temp file is gone once it was handed to storage
+        assertFalse(Files.exists(storedFrom));
+    }
+
+    @Test
+    void statusListsMissingChunksAndCompleteWaitsForThem() throws Exception {
+        ChunkedUploadService service = newService();
+        String id = service.create("a@x", "resumes", request(null)).getUploadId();
+
+        write(service, id, 4);
+        ChunkedUploadStatus status = service.status("a@x", id);
+        assertEquals(4, status.getReceivedBytes());
+        assertEquals(List.of(0L, 8L), status.getMissingOffsets());
+        assertThrows(IllegalStateException.class, () -> service.complete("a@x", id));
+
+        // The session survives the failed completion; the client resends what was missing
+        write(service, id, 0);
+        write(service, id, 8);
+        service.complete("a@x", id);
+        assertArrayEquals(CONTENT, stored);
+    }
+
+    @Test
+    void resentChunkOverwritesTheFirstCopy() throws Exception {
+        ChunkedUploadService service = newService();
+        String id = service.create("a@x", "resumes", request(null)).getUploadId();
+
+        service.writeChunk("a@x", id, 0, new ByteArrayInputStream("xxxx".getBytes(StandardCharsets.US_ASCII)));
+        write(service, id, 0);
+        write(service, id, 4);
+        write(service, id, 8);
+        assertEquals(10, service.status("a@x", id).getReceivedBytes());
+
+        service.complete("a@x", id);
+        assertArrayEquals(CONTENT, stored);
+    }
+
+    @Test
+    void chunksMustBeAlignedAndExactlyOneChunkLong() throws Exception {
+        ChunkedUploadService service = newService();
+        String id = service.create("a@x", "resumes", request(null)).getUploadId();
+
+        assertThrows(IllegalArgumentException.class, () -> service.writeChunk("a@x", id, 2, body(2, 6)));
+        assertThrows(IllegalArgumentException.class, () -> service.writeChunk("a@x", id, 12, body(0, 4)));
+        assertThrows(IllegalArgumentException.class, () -> service.writeChunk("a@x", id, 0, body(0, 3)));
+        assertThrows(IllegalArgumentException.class, () -> service.writeChunk("a@x", id, 0, body(0, 5)));
+        // The last chunk is only as long as what's left of the file
+        assertThrows(IllegalArgumentException.class, () -> service.writeChunk("a@x", id, 8, body(4, 8)));
+
+        assertEquals(List.of(0L, 4L, 8L), service.status("a@x", id).getMissingOffsets());
+    }
+
+    @Test
+    void checksumMismatchDiscardsTheUpload() throws Exception {
+        ChunkedUploadService service = newService();
+        String id = service.create("a@x", "resumes", request(sha256("something else".getBytes(StandardCharsets.US_ASCII)))).getUploadId();
+        write(service, id, 0);
+        write(service, id, 4);
+        write(service, id, 8);
+
+        assertThrows(IllegalArgumentException.class, () -> service.complete("a@x", id));
+        assertThrows(IllegalArgumentException.class, () -> service.status("a@x", id));
+    }
+
+    @Test
+    void uploadsAreOnlyVisibleToTheirOwner() throws Exception {
+        ChunkedUploadService service = newService();
+        String id = service.create("a@x", "resumes", request(null)).getUploadId();
+
+        assertThrows(IllegalArgumentException.class, () -> service.writeChunk("b@x", id, 0, body(0, 4)));
+        assertThrows(IllegalArgumentException.class, () -> service.complete("b@x", id));
+        assertEquals(List.of(0L, 4L, 8L), service.status("a@x", id).getMissingOffsets());
+    }
+
+    private static ChunkedUploadStatus write(ChunkedUploadService service, String id, int offset) throws IOException {
+        return service.writeChunk("a@x", id, offset, body(offset, Math.min(offset + 4, CONTENT.length)));
+    }
+
+    private static ByteArrayInputStream body(int from, int to) {
+        return new ByteArrayInputStream(Arrays.copyOfRange(CONTENT, from, to));
+    }
+
+    private static ChunkedUploadRequest request(String sha256) {
+        ChunkedUploadRequest request = new ChunkedUploadRequest();
+        request.setFileName("cv.pdf");
+        request.setContentType("application/pdf");
+        request.setSize(CONTENT.length);
+        request.setSha256(sha256);
+        return request;
+    }
+
+    private static String sha256(byte[] data) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    }
+}
@@ -0,0 +1,24 @@
+package com.job.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class FileStorageServiceTest {
+
+    @Test
+    void keyFromUrlTakesTheFolderFromThePath() {
+        assertEquals("profile-pictures/abc.jpg", FileStorageService.keyFromUrl("/uploads/profile-pictures/abc.jpg"));
+        // A resume whose name mentions the other folder still maps to resumes
+        assertEquals("resumes/1_profile-pictures.pdf", FileStorageService.keyFromUrl("/uploads/resumes/1_profile-pictures.pdf"));
+    }
+
+    @Test
+    void keyFromUrlRejectsAnythingElse() {
+        assertThrows(IllegalArgumentException.class, () -> FileStorageService.keyFromUrl("https://example.com/cv.pdf"));
+        assertThrows(IllegalArgumentException.class, () -> FileStorageService.keyFromUrl("/uploads/other/cv.pdf"));
+        assertThrows(IllegalArgumentException.class, () -> FileStorageService.keyFromUrl("/uploads/resumes/../cv.pdf"));
+        assertThrows(IllegalArgumentException.class, () -> FileStorageService.keyFromUrl("/uploads/resumes/"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.job.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class FrequencySketchTest {
+
+    @Test
+    void countsAccessesAndSaturatesAtFifteen() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        for (int i = 0; i < 5; i++) sketch.increment("avatar-1");
+        sketch.increment("avatar-2");
+
+        assertEquals(5, sketch.frequency("avatar-1"));
+        assertEquals(1, sketch.frequency("avatar-2"));
+        assertEquals(0, sketch.frequency("never-requested"));
+
+        for (int i = 0; i < 100; i++) sketch.increment("avatar-1");
+        assertEquals(15, sketch.frequency("avatar-1"));
+    }
+
+    @Test
+    void halvesCountsOncePopularityIsOld() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        for (int i = 0; i < 12; i++) sketch.increment("hot");
+        assertEquals(12, sketch.frequency("hot"));
+
+        // 64 slots sample 640 increments; one-off keys push the sketch past its reset
+        for (int i = 0; i < 700; i++) sketch.increment("one-off-" + i);
+
+        int afterReset = sketch.frequency("hot");
+        assertTrue(afterReset >= 6 && afterReset < 12, "expected roughly half of 12, got " + afterReset);
+    }
+}
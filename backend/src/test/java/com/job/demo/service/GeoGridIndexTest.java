@@ -0,0 +1,69 @@
+package com.job.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+class GeoGridIndexTest {
+
+    private static final double BENGALURU_LAT = 12.9716, BENGALURU_LON = 77.5946;
+
+    @Test
+    void geohashMatchesKnownCells() {
+        assertEquals("tdr1", GeoGridIndex.geohash(BENGALURU_LAT, BENGALURU_LON, 4));
+        assertEquals("gcpv", GeoGridIndex.geohash(51.5074, -0.1278, 4));
+    }
+
+    @Test
+    void radiusQueryKeepsOnlyIdsInRange() {
+        GeoGridIndex index = new GeoGridIndex();
+        index.put(1, BENGALURU_LAT, BENGALURU_LON, false);
+        index.put(2, 13.0827, 80.2707, false);   // Chennai, ~290 km away
+        index.put(3, 13.0358, 77.5970, false);   // Hebbal, ~7 km away
+        index.put(4, null, null, true);          // remote, no coordinates
+
+        RoaringBitmap near = index.within(BENGALURU_LAT, BENGALURU_LON, 25, false);
+        assertTrue(near.contains(1) && near.contains(3));
+        assertFalse(near.contains(2));
+        assertFalse(near.contains(4));
+
+        RoaringBitmap withRemote = index.within(BENGALURU_LAT, BENGALURU_LON, 25, true);
+        assertTrue(withRemote.contains(4));
+        assertTrue(index.within(BENGALURU_LAT, BENGALURU_LON, 300, false).contains(2));
+    }
+
+    @Test
+    void queryAcrossTheAntimeridianFindsBothSides() {
+        GeoGridIndex index = new GeoGridIndex();
+        index.put(1, -17.7, 179.9, false);
+        index.put(2, -17.7, -179.9, false);
+
+        RoaringBitmap near = index.within(-17.7, 179.95, 50, false);
+        assertTrue(near.contains(1) && near.contains(2));
+    }
+
+    @Test
+    void putMovesAndRemoveForgets() {
+        GeoGridIndex index = new GeoGridIndex();
+        index.put(1, BENGALURU_LAT, BENGALURU_LON, true);
+        index.put(1, 51.5074, -0.1278, false);
+
+        assertFalse(index.within(BENGALURU_LAT, BENGALURU_LON, 50, true).contains(1));
+        assertTrue(index.within(51.5, -0.12, 50, false).contains(1));
+        assertEquals(1, index.size());
+
+        index.remove(1);
+        assertEquals(0, index.size());
+        assertTrue(index.within(51.5, -0.12, 50, true).isEmpty());
+    }
+
+    @Test
+    void distanceIsGreatCircle() {
+        double km = GeoGridIndex.distanceKm(BENGALURU_LAT, BENGALURU_LON, 13.0827, 80.2707);
+        assertTrue(km > 280 && km < 300, "Bengaluru - Chennai was " + km);
+        assertEquals(0, Math.round(GeoGridIndex.distanceKm(10, 20, 10, 20)));
+    }
+}
@@ -0,0 +1,32 @@
+package com.job.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import org.junit.jupiter.api.Test;
+
+class JobAttributeIndexTest {
+
+    @Test
+    void atLeastMatchesAScalarFilter() {
+        int[] salaries = new int[5000]; // spans more than one mask chunk and a partial last word
+        for (int i = 0; i < salaries.length; i++) salaries[i] = i % 7 == 0 ? -2 : i % 11 == 0 ? -1 : i * 1000;
+
+        for (int min : new int[] { 1, 999, 1000, 2_500_500, 4_999_000, 5_000_000 }) {
+            assertArrayEquals(expected(salaries, min), JobAttributeIndex.atLeast(salaries, min).toArray());
+        }
+    }
+
+    @Test
+    void extremeMinimumsDoNotOverflow() {
+        int[] salaries = { -2, -1, 0, 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE };
+
+        assertArrayEquals(new int[] { 2, 3, 4, 5 }, JobAttributeIndex.atLeast(salaries, Integer.MIN_VALUE).toArray());
+        assertArrayEquals(new int[] { 4, 5 }, JobAttributeIndex.atLeast(salaries, Integer.MAX_VALUE - 1).toArray());
+        // Clamped to MAX_VALUE - 1, but still no sentinel or small salary slips in
+        assertArrayEquals(new int[] { 4, 5 }, JobAttributeIndex.atLeast(salaries, Integer.MAX_VALUE).toArray());
+    }
+
+    private static int[] expected(int[] salaries, int min) {
+        return java.util.stream.IntStream.range(0, salaries.length).filter(i -> salaries[i] >= min).toArray();
+    }
+}
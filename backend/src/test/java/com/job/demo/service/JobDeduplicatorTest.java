@@ -0,0 +1,109 @@
+package com.job.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.job.demo.model.Job;
+
+class JobDeduplicatorTest {
+
+    private static final String DESCRIPTION = "We are looking for a backend engineer to build and run the services"
+            + " behind our payments platform, working in Java and Spring with MySQL and Kafka on AWS."
+            + " You will own features end to end, review code and mentor two junior engineers.";
+
+    private final JobDeduplicator deduplicator = new JobDeduplicator(0.8);
+
+    @Test
+    void minHashIsStableAndIgnoresCaseAndPunctuation() {
+        int[] a = JobDeduplicator.minHash("Senior Java Developer - Acme, Bengaluru");
+        int[] b = JobDeduplicator.minHash("senior java developer acme bengaluru!!");
+        assertArrayEquals(a, b);
+        assertEquals(64, a.length);
+        assertNull(JobDeduplicator.minHash(" -- "));
+    }
+
+    @Test
+    void minHashAgreementTracksSimilarity() {
+        int[] original = JobDeduplicator.minHash(DESCRIPTION);
+        int[] lightlyEdited = JobDeduplicator.minHash(DESCRIPTION.replace("two junior", "three junior"));
+        int[] unrelated = JobDeduplicator.minHash("Registered nurse for the night shift at a 40 bed"
+                + " surgical ward, with experience in post-operative care and patient handover.");
+
+        assertTrue(agreement(original, lightlyEdited) > agreement(original, unrelated));
+        assertTrue(agreement(original, unrelated) < 8);
+    }
+
+    @Test
+    void canonicalApplyUrlStripsTrackingAndSortsParameters() {
+        assertEquals("acme.com/careers/123?b=2&lang=en",
+                JobDeduplicator.canonicalApplyUrl("https://www.Acme.com/careers/123/?utm_source=x&lang=en&gclid=abc&b=2#apply"));
+        assertEquals(JobDeduplicator.canonicalApplyUrl("http://acme.com/careers/123?ref=linkedin"),
+                JobDeduplicator.canonicalApplyUrl("https://acme.com/careers/123"));
+        assertEquals("acme.com:8443/jobs", JobDeduplicator.canonicalApplyUrl("https://acme.com:8443/jobs"));
+        assertEquals("not a url", JobDeduplicator.canonicalApplyUrl(" Not a URL "));
+        assertNull(JobDeduplicator.canonicalApplyUrl("  "));
+    }
+
+    @Test
+    void findsARepostWithSimilarText() {
+        deduplicator.register(1, deduplicator.fingerprint(job("Backend Engineer", DESCRIPTION, "https://acme.com/jobs/1")));
+
+        Job repost = job("Backend Engineer", DESCRIPTION.replace("two junior", "three junior"), "https://jobs.example.org/x?id=9");
+        assertEquals(1L, deduplicator.findCanonical(deduplicator.fingerprint(repost)));
+    }
+
+    @Test
+    void sameApplyUrlIsNotEnoughOnItsOwn() {
+        deduplicator.register(1, deduplicator.fingerprint(job("Backend Engineer", DESCRIPTION, "https://acme.com/careers")));
+
+        Job otherOpening = job("Office Manager", "Run our Bengaluru office: vendors, travel, events and the"
+                + " front desk, and keep the team stocked with coffee.", "https://acme.com/careers?utm_source=feed");
+        assertNull(deduplicator.findCanonical(deduplicator.fingerprint(otherOpening)));
+
+        Job textless = job(null, null, "https://acme.com/careers");
+        textless.setCompany(null);
+        assertNull(deduplicator.findCanonical(deduplicator.fingerprint(textless)));
+    }
+
+    @Test
+    void removedPostingsAreNoLongerFound() {
+        JobDeduplicator.Fingerprint fingerprint = deduplicator.fingerprint(job("Backend Engineer", DESCRIPTION, null));
+        deduplicator.register(1, fingerprint);
+        deduplicator.remove(1);
+        assertNull(deduplicator.findCanonical(fingerprint));
+    }
+
+    @Test
+    void fullBucketsForgetTheirOldestPosting() {
+        // Identical postings share all their band buckets; 16 newer ones push the first out of each
+        JobDeduplicator.Fingerprint fingerprint = deduplicator.fingerprint(job("Backend Engineer", DESCRIPTION, null));
+        for (long id = 1; id <= 17; id++) deduplicator.register(id, fingerprint);
+        assertNotNull(deduplicator.findCanonical(fingerprint));
+
+        for (long id = 2; id <= 17; id++) deduplicator.remove(id);
+        // Posting 1 is still registered, but no bucket points at it any more: recall is lost
+        assertNull(deduplicator.findCanonical(fingerprint));
+    }
+
+    private static Job job(String title, String description, String applyUrl) {
+        Job job = new Job();
+        job.setTitle(title);
+        job.setCompany("Acme");
+        job.setDescription(description);
+        job.setApplyUrl(applyUrl);
+        return job;
+    }
+
+    private static int agreement(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) same++;
+        }
+        return same;
+    }
+}
@@ -0,0 +1,42 @@
+package com.job.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+class JobServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-15T12:00:00Z");
+
+    @Test
+    void postedAtFromReadsRelativeAges() {
+        assertEquals(NOW.minus(Duration.ofDays(1)), JobService.postedAtFrom("yesterday", NOW));
+        assertEquals(NOW.minus(Duration.ofDays(1)), JobService.postedAtFrom("  Yesterday ", NOW));
+        assertEquals(NOW.minus(Duration.ofMinutes(45)), JobService.postedAtFrom("45 mins ago", NOW));
+        assertEquals(NOW.minus(Duration.ofMinutes(1)), JobService.postedAtFrom("1 minute ago", NOW));
+        assertEquals(NOW.minus(Duration.ofHours(5)), JobService.postedAtFrom("5 hours ago", NOW));
+        assertEquals(NOW.minus(Duration.ofHours(2)), JobService.postedAtFrom("2 hrs ago", NOW));
+        assertEquals(NOW.minus(Duration.ofDays(3)), JobService.postedAtFrom("3 days ago", NOW));
+        assertEquals(NOW.minus(Duration.ofDays(7)), JobService.postedAtFrom("1 week ago", NOW));
+        // Months are counted as 30 days
+        assertEquals(NOW.minus(Duration.ofDays(60)), JobService.postedAtFrom("2 months ago", NOW));
+    }
+
+    @Test
+    void postedAtFromTakesTheLowerBoundOfOpenEndedAges() {
+        assertEquals(NOW.minus(Duration.ofDays(30)), JobService.postedAtFrom("30+ days ago", NOW));
+        assertEquals(NOW.minus(Duration.ofDays(3)), JobService.postedAtFrom("Posted 3 days ago", NOW));
+    }
+
+    @Test
+    void postedAtFromFallsBackToNow() {
+        assertEquals(NOW, JobService.postedAtFrom(null, NOW));
+        assertEquals(NOW, JobService.postedAtFrom("", NOW));
+        assertEquals(NOW, JobService.postedAtFrom("just now", NOW));
+        assertEquals(NOW, JobService.postedAtFrom("few days ago", NOW));
+        assertEquals(NOW, JobService.postedAtFrom("3 days", NOW));
+    }
+}
@@ -0,0 +1,52 @@
+package com.job.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LocationNormalizerTest {
+
+    private final LocationNormalizer normalizer = new LocationNormalizer();
+
+    @Test
+    void aliasesResolveToTheCanonicalCity() {
+        LocationNormalizer.Place place = normalizer.normalize("Bangalore, India");
+        assertEquals("Bengaluru", place.getName());
+        assertEquals("IN", place.getCountryCode());
+        assertTrue(place.hasCoordinates());
+        assertFalse(place.isRemote());
+    }
+
+    @Test
+    void cityWinsOverCountryWhateverTheOrder() {
+        assertEquals("Mumbai", normalizer.normalize("India / Bombay").getName());
+    }
+
+    @Test
+    void countryOnlyHasNoCoordinates() {
+        LocationNormalizer.Place place = normalizer.normalize("Remote (USA)");
+        assertEquals("United States", place.getName());
+        assertEquals("US", place.getCountryCode());
+        assertFalse(place.hasCoordinates());
+        assertTrue(place.isRemote());
+    }
+
+    @Test
+    void fallsBackToSingleWordCities() {
+        assertEquals("Pune", normalizer.normalize("Hinjewadi Pune Maharashtra").getName());
+        // Single words never match countries: "us" here is just a word
+        assertNull(normalizer.normalize("join us").getName());
+    }
+
+    @Test
+    void unknownAndBlankGiveNoPlace() {
+        assertNull(normalizer.normalize(null).getName());
+        assertNull(normalizer.normalize("  ").getName());
+        LocationNormalizer.Place wfh = normalizer.normalize("Work from home");
+        assertNull(wfh.getName());
+        assertTrue(wfh.isRemote());
+    }
+}
@@ -0,0 +1,64 @@
+package com.job.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LogHistogramTest {
+
+    @Test
+    void quantilesAreWithinAboutOnePercent() {
+        LogHistogram histogram = new LogHistogram();
+        for (int salary = 1; salary <= 100_000; salary++) histogram.add(salary * 10L);
+
+        assertWithinOnePercent(500_000, histogram.quantile(0.5));
+        assertWithinOnePercent(900_000, histogram.quantile(0.9));
+        assertWithinOnePercent(1_000_000, histogram.quantile(1.0));
+    }
+
+    @Test
+    void removeUndoesAdd() {
+        LogHistogram histogram = new LogHistogram();
+        histogram.add(1_000);
+        histogram.add(2_000_000);
+        histogram.remove(2_000_000);
+
+        assertEquals(1, histogram.count());
+        assertWithinOnePercent(1_000, histogram.quantile(0.99));
+    }
+
+    @Test
+    void zeroAndNegativesShareTheFirstBucket() {
+        LogHistogram histogram = new LogHistogram();
+        histogram.add(0);
+        histogram.add(-5);
+
+        assertEquals(0, histogram.quantile(1.0));
+        assertEquals(0, new LogHistogram().quantile(0.5)); // empty
+    }
+
+    @Test
+    void mergeAddsBucketCounts() {
+        LogHistogram low = new LogHistogram();
+        LogHistogram high = new LogHistogram();
+        for (int i = 0; i < 10; i++) low.add(100);
+        for (int i = 0; i < 30; i++) high.add(10_000);
+
+        low.merge(high);
+        assertEquals(40, low.count());
+        assertWithinOnePercent(100, low.quantile(0.25));
+        assertWithinOnePercent(10_000, low.quantile(0.26));
+    }
+
+    @Test
+    void valuesBeyondIntRangeLandInTheLastBucket() {
+        LogHistogram histogram = new LogHistogram();
+        histogram.add(Long.MAX_VALUE);
+        assertTrue(histogram.quantile(1.0) > Integer.MAX_VALUE / 2);
+    }
+
+    private static void assertWithinOnePercent(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 100, "expected ~" + expected + " got " + actual);
+    }
+}
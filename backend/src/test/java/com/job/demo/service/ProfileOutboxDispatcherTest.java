@@ -0,0 +1,219 @@
+package com.job.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.job.demo.model.ProfileOutboxEvent;
+import com.job.demo.repository.ProfileOutboxRepository;
+
+class ProfileOutboxDispatcherTest {
+
+    private static final Duration SETTLE_DELAY = Duration.ofSeconds(2);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<ProfileOutboxEvent> outbox = new ArrayList<>();
+    private final List<List<ProfileChangeHandler.ProfileChange>> delivered = new ArrayList<>();
+    private int failuresLeft;
+
+    @Test
+    void coalesceKeepsOneChangePerProfileInOrderOfFirstAppearance() throws Exception {
+        ProfileFacts first = facts("Backend Engineer", 10);
+        ProfileFacts second = facts("Platform Engineer", 12);
+        ProfileFacts third = facts("Staff Engineer", 15);
+        List<ProfileOutboxEvent> events = List.of(
+                event(1, 7, "photo", null, null),
+                event(2, 3, "profile", null, first),
+                event(3, 7, "resume", null, null),
+                event(4, 7, "photo", null, null),
+                event(5, 3, "profile", first, second),
+                event(6, 3, "profile", second, third));
+
+        List<ProfileChangeHandler.ProfileChange> changes = ProfileOutboxDispatcher.coalesce(events, objectMapper);
+
+        assertEquals(2, changes.size());
+        ProfileChangeHandler.ProfileChange photos = changes.get(0);
+        assertEquals(7, photos.getProfileId());
+        assertEquals(List.of("photo", "resume"), new ArrayList<>(photos.getChangeTypes()));
+        assertEquals(4, photos.getLastEventId());
+        assertFalse(photos.isFactsChanged());
+
+        // Net change of three edits: nothing before the first, the third edit's facts after
+        ProfileChangeHandler.ProfileChange edits = changes.get(1);
+        assertEquals(3, edits.getProfileId());
+        assertEquals(Set.of("profile"), edits.getChangeTypes());
+        assertEquals(6, edits.getLastEventId());
+        assertTrue(edits.isFactsChanged());
+        assertNull(edits.getFactsBefore());
+        assertEquals("Staff Engineer", edits.getFactsAfter().getTargetRole());
+        assertEquals(15, edits.getFactsAfter().getExperienceYears());
+    }
+
+    @Test
+    void coalesceSkipsUnreadableFactsButKeepsTheChange() throws Exception {
+        ProfileOutboxEvent broken = event(1, 3, "profile", null, null);
+        broken.setFactsAfter("{not json");
+
+        List<ProfileChangeHandler.ProfileChange> changes = ProfileOutboxDispatcher.coalesce(List.of(broken), objectMapper);
+
+        assertEquals(1, changes.size());
+        assertEquals(1, changes.get(0).getLastEventId());
+        assertFalse(changes.get(0).isFactsChanged());
+    }
+
+    @Test
+    void cursorStartsAfterWhatIsAlreadyInTheOutbox() {
+        add(event(1, 3, "profile", null, null));
+        add(event(2, 4, "profile", null, null));
+        ProfileOutboxDispatcher dispatcher = dispatcher(500);
+        dispatcher.initCursor();
+
+        dispatcher.dispatch();
+        assertTrue(delivered.isEmpty());
+
+        add(event(3, 5, "photo", null, null));
+        dispatcher.dispatch();
+        assertEquals(List.of(List.of(5L)), deliveredProfiles());
+
+        // Delivered events aren't handed out again
+        dispatcher.dispatch();
+        assertEquals(1, delivered.size());
+    }
+
+    @Test
+    void unsettledEventsWaitForTheNextPoll() {
+        ProfileOutboxDispatcher dispatcher = dispatcher(500);
+        dispatcher.initCursor();
+        ProfileOutboxEvent fresh = event(1, 3, "profile", null, null);
+        fresh.setCreatedAt(Instant.now());
+        add(fresh);
+
+        dispatcher.dispatch();
+        assertTrue(delivered.isEmpty());
+
+        fresh.setCreatedAt(Instant.now().minus(SETTLE_DELAY).minusMillis(1));
+        dispatcher.dispatch();
+        assertEquals(List.of(List.of(3L)), deliveredProfiles());
+    }
+
+    @Test
+    void fullBatchesAreDrainedInOnePoll() {
+        ProfileOutboxDispatcher dispatcher = dispatcher(2);
+        dispatcher.initCursor();
+        for (int id = 1; id <= 5; id++) add(event(id, id, "profile", null, null));
+
+        dispatcher.dispatch();
+
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(5L)), deliveredProfiles());
+    }
+
+    @Test
+    void failedBatchIsRetriedExactlyEvenWhenMoreEventsArrived() {
+        ProfileOutboxDispatcher dispatcher = dispatcher(500);
+        dispatcher.initCursor();
+        add(event(1, 3, "profile", null, null));
+        add(event(2, 4, "profile", null, null));
+
+        failuresLeft = 1;
+        dispatcher.dispatch();
+        assertEquals(List.of(List.of(3L, 4L)), deliveredProfiles());
+
+        // The retry must not fold newer events for the same profiles into the batch the handler already saw
+        add(event(3, 3, "photo", null, null));
+        add(event(4, 5, "profile", null, null));
+        dispatcher.dispatch();
+        assertEquals(List.of(List.of(3L, 4L), List.of(3L, 4L)), deliveredProfiles());
+        assertEquals(2, delivered.get(1).get(1).getLastEventId());
+
+        // Once the retry went through, the newer events come in the following batch
+        dispatcher.dispatch();
+        assertEquals(List.of(List.of(3L, 4L), List.of(3L, 4L), List.of(3L, 5L)), deliveredProfiles());
+        assertEquals(Set.of("photo"), delivered.get(2).get(0).getChangeTypes());
+    }
+
+    private ProfileOutboxDispatcher dispatcher(int batchSize) {
+        ProfileChangeHandler handler = changes -> {
+            delivered.add(changes);
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IllegalStateException("handler failed");
+            }
+        };
+        return new ProfileOutboxDispatcher(repository(), new NoOpTransactionManager(), objectMapper, List.of(handler),
+                batchSize, SETTLE_DELAY);
+    }
+
+    // Only what the dispatcher calls while polling; the rest is never reached
+    private ProfileOutboxRepository repository() {
+        return (ProfileOutboxRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ProfileOutboxRepository.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "findNextBatch" -> outbox.stream()
+                            .filter(e -> e.getId() > (long) args[0] && e.getId() <= (long) args[1])
+                            .filter(e -> !e.getCreatedAt().isAfter((Instant) args[2]))
+                            .sorted(Comparator.comparing(ProfileOutboxEvent::getId))
+                            .limit((int) args[3])
+                            .toList();
+                    case "findLastIdBefore" -> outbox.stream()
+                            .filter(e -> !e.getCreatedAt().isAfter((Instant) args[0]))
+                            .mapToLong(ProfileOutboxEvent::getId)
+                            .max().orElse(0);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private List<List<Long>> deliveredProfiles() {
+        return delivered.stream()
+                .map(changes -> changes.stream().map(ProfileChangeHandler.ProfileChange::getProfileId).toList())
+                .toList();
+    }
+
+    private void add(ProfileOutboxEvent event) {
+        outbox.add(event);
+    }
+
+    private ProfileOutboxEvent event(long id, long profileId, String type, ProfileFacts before, ProfileFacts after) {
+        ProfileOutboxEvent event = new ProfileOutboxEvent(profileId, type);
+        event.setId(id);
+        event.setCreatedAt(Instant.now().minus(SETTLE_DELAY).minusSeconds(1));
+        try {
+            if (before != null) event.setFactsBefore(objectMapper.writeValueAsString(before));
+            if (after != null) event.setFactsAfter(objectMapper.writeValueAsString(after));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return event;
+    }
+
+    private static ProfileFacts facts(String targetRole, int experienceYears) {
+        return new ProfileFacts(targetRole, 1_200_000, experienceYears, false, "Pune", Set.of("java"));
+    }
+
+    private static class NoOpTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) { }
+
+        @Override
+        public void rollback(TransactionStatus status) { }
+    }
+}
@@ -0,0 +1,87 @@
+package com.job.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    void rejectsOnceBucketIsEmptyAndRefillsOverTime() {
+        RateLimiter limiter = new RateLimiter(1000, Duration.ofHours(1), clock::get);
+        RateLimiter.Limit limit = RateLimiter.Limit.parse("3/30s");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:1", limit));
+        }
+        long wait = limiter.tryAcquire("ip:1", limit);
+        assertEquals(10_000, wait);
+
+        clock.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("ip:1", limit));
+        assertTrue(limiter.tryAcquire("ip:1", limit) > 0);
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        RateLimiter limiter = new RateLimiter(1000, Duration.ofHours(1), clock::get);
+        RateLimiter.Limit limit = RateLimiter.Limit.parse("1/1m");
+
+        assertEquals(0, limiter.tryAcquire("ip:1", limit));
+        assertTrue(limiter.tryAcquire("ip:1", limit) > 0);
+        assertEquals(0, limiter.tryAcquire("ip:2", limit));
+    }
+
+    @Test
+    void idleBucketsAreEvicted() {
+        RateLimiter limiter = new RateLimiter(1000, Duration.ofMinutes(5), clock::get);
+        RateLimiter.Limit limit = RateLimiter.Limit.parse("1/1m");
+
+        limiter.tryAcquire("ip:1", limit);
+        limiter.tryAcquire("ip:2", limit);
+        assertEquals(2, limiter.size());
+
+        clock.addAndGet(Duration.ofMinutes(5).toMillis());
+        limiter.evictIdle();
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void fullStripeIsSweptInlineAtMostOncePerSecond() {
+        // One entry per stripe; all keys below land in the same stripe
+        RateLimiter limiter = new RateLimiter(16, Duration.ofMillis(500), clock::get);
+        RateLimiter.Limit limit = RateLimiter.Limit.parse("1/100ms");
+        String[] keys = keysInOneStripe(5);
+
+        limiter.tryAcquire(keys[0], limit);
+        clock.addAndGet(600);
+        // keys[0] is idle: the sweep drops it and keys[1] gets its own bucket
+        assertEquals(0, limiter.tryAcquire(keys[1], limit));
+
+        clock.addAndGet(600);
+        // keys[1] is idle too, but the stripe was swept 600ms ago: newcomers share the overflow bucket
+        assertEquals(0, limiter.tryAcquire(keys[2], limit));
+        assertTrue(limiter.tryAcquire(keys[3], limit) > 0);
+
+        clock.addAndGet(500);
+        // A second later the sweep runs again and makes room
+        assertEquals(0, limiter.tryAcquire(keys[4], limit));
+        assertEquals(1, limiter.size());
+    }
+
+    private static String[] keysInOneStripe(int count) {
+        String[] keys = new String[count];
+        int found = 0;
+        for (int i = 0; found < count; i++) {
+            String key = "ip:" + i;
+            if ((key.hashCode() & 0x7fffffff) % 16 == 0) keys[found++] = key;
+        }
+        return keys;
+    }
+}
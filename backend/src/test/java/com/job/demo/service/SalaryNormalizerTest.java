@@ -0,0 +1,38 @@
+package com.job.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SalaryNormalizerTest {
+
+    private final SalaryNormalizer normalizer = new SalaryNormalizer(List.of("USD=83", " eur = 90 ", "broken"));
+
+    @Test
+    void convertsUnitAndCurrencyToYearlyInr() {
+        assertEquals(1_992_000, normalizer.toAnnualInr(2000, "USD", "month"));
+        assertEquals(1_664_000, normalizer.toAnnualInr(800, "INR", "hour"));
+        assertEquals(90_000, normalizer.toAnnualInr(1000, "Eur", " Year "));
+    }
+
+    @Test
+    void missingCurrencyAndUnitMeanYearlyInr() {
+        assertEquals(1_200_000, normalizer.toAnnualInr(1_200_000, null, null));
+    }
+
+    @Test
+    void unknownOrMissingValuesGiveNull() {
+        assertNull(normalizer.toAnnualInr(null, "USD", "year"));
+        assertNull(normalizer.toAnnualInr(0, "USD", "year"));
+        assertNull(normalizer.toAnnualInr(1000, "XYZ", "year"));
+        assertNull(normalizer.toAnnualInr(1000, "USD", "fortnight"));
+    }
+
+    @Test
+    void hugeAmountsSaturateInsteadOfOverflowing() {
+        assertEquals(Integer.MAX_VALUE, normalizer.toAnnualInr(Integer.MAX_VALUE, "USD", "hour"));
+    }
+}
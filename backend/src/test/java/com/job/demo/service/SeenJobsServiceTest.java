@@ -0,0 +1,76 @@
+package com.job.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+class SeenJobsServiceTest {
+
+    @Test
+    void likesFromTwoInstancesAreBothKept() {
+        RoaringBitmap storedSeen = RoaringBitmap.bitmapOf(1);
+        RoaringBitmap storedLiked = RoaringBitmap.bitmapOf(1);
+        SeenJobsService.Entry a = new SeenJobsService.Entry(7, storedSeen.clone(), storedLiked.clone());
+        SeenJobsService.Entry b = new SeenJobsService.Entry(7, storedSeen.clone(), storedLiked.clone());
+
+        a.swipe(2, true);
+        b.swipe(3, true);
+        b.swipe(1, false);
+
+        // a writes first; b's write conflicts and is redone against a's record
+        flush(a, storedSeen, storedLiked);
+        flush(b, storedSeen, storedLiked);
+
+        assertTrue(storedLiked.contains(2));
+        assertTrue(storedLiked.contains(3));
+        assertFalse(storedLiked.contains(1));
+        assertTrue(storedSeen.contains(1) && storedSeen.contains(2) && storedSeen.contains(3));
+        // b now also knows about a's like
+        assertTrue(b.liked.contains(2));
+    }
+
+    @Test
+    void swipesDuringAFlushAreNotOverwritten() {
+        SeenJobsService.Entry entry = new SeenJobsService.Entry(7, new RoaringBitmap(), new RoaringBitmap());
+        entry.swipe(1, true);
+        SeenJobsService.Pending pending = entry.takePending();
+
+        entry.swipe(2, true);
+        entry.swipe(1, false);
+
+        RoaringBitmap seen = new RoaringBitmap();
+        RoaringBitmap liked = new RoaringBitmap();
+        pending.applyTo(seen, liked);
+        entry.written(seen, liked);
+
+        assertFalse(entry.liked.contains(1));
+        assertTrue(entry.liked.contains(2));
+    }
+
+    @Test
+    void failedFlushIsRestoredButNewerSwipesWin() {
+        SeenJobsService.Entry entry = new SeenJobsService.Entry(7, new RoaringBitmap(), new RoaringBitmap());
+        entry.swipe(1, true);
+        entry.swipe(2, true);
+        SeenJobsService.Pending failed = entry.takePending();
+        assertNull(entry.takePending());
+
+        entry.swipe(2, false);
+        entry.restore(failed);
+
+        RoaringBitmap seen = new RoaringBitmap();
+        RoaringBitmap liked = RoaringBitmap.bitmapOf(2);
+        entry.takePending().applyTo(seen, liked);
+        assertTrue(liked.contains(1));
+        assertFalse(liked.contains(2));
+    }
+
+    // What flush() does against the stored record, minus the repository
+    private static void flush(SeenJobsService.Entry entry, RoaringBitmap storedSeen, RoaringBitmap storedLiked) {
+        entry.takePending().applyTo(storedSeen, storedLiked);
+        entry.written(storedSeen, storedLiked);
+    }
+}
@@ -0,0 +1,54 @@
+package com.job.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ShardedLayoutTest {
+
+    @Test
+    void shardedKeyRoundTripsThroughLogicalKey() {
+        String sharded = ShardedLayout.shardedKey("resumes/cv.pdf");
+        String prefix = ShardedLayout.shardPrefix("cv.pdf");
+
+        assertEquals("resumes/" + prefix.substring(0, 2) + "/" + prefix.substring(2, 4) + "/cv.pdf", sharded);
+        assertEquals("resumes/cv.pdf", ShardedLayout.logicalKey(sharded));
+    }
+
+    @Test
+    void compareOrdersByShardPrefixFirst() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 200; i++) names.add("file-" + i + ".pdf");
+        names.sort(ShardedLayout::compare);
+
+        for (int i = 1; i < names.size(); i++) {
+            String previous = names.get(i - 1);
+            String current = names.get(i);
+            int byShard = ShardedLayout.shardPrefix(previous).compareTo(ShardedLayout.shardPrefix(current));
+            assertTrue(byShard < 0 || byShard == 0 && ShardedLayout.compareBytes(previous, current) < 0);
+        }
+    }
+
+    @Test
+    void compareIsZeroOnlyForTheSameName() {
+        assertEquals(0, ShardedLayout.compare("a.png", "a.png"));
+        assertTrue(ShardedLayout.compare("a.png", "b.png") != 0);
+        assertEquals(-Integer.signum(ShardedLayout.compare("b.png", "a.png")),
+                Integer.signum(ShardedLayout.compare("a.png", "b.png")));
+    }
+
+    @Test
+    void compareBytesUsesUnsignedUtf8Order() {
+        // An emoji (0xF0 ...) sorts after U+FF5E (0xEF ...) in UTF-8, though its UTF-16 surrogate sorts before it
+        String emoji = "\uD83D\uDE00";
+        assertTrue(emoji.compareTo("\uFF5E") < 0);
+        assertTrue(ShardedLayout.compareBytes(emoji, "\uFF5E") > 0);
+        assertTrue(ShardedLayout.compareBytes("\u00E9", "z") > 0);
+        assertTrue(ShardedLayout.compareBytes("Z", "a") < 0);
+        assertTrue(ShardedLayout.compareBytes("ab", "abc") < 0);
+    }
+}
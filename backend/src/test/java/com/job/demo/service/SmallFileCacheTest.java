@@ -0,0 +1,88 @@
+package com.job.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.util.unit.DataSize;
+
+class SmallFileCacheTest {
+
+    // Room for exactly three 100-byte files
+    private final SmallFileCache cache = new SmallFileCache(DataSize.ofBytes(300), DataSize.ofBytes(200));
+
+    private static ByteArrayResource file(int size) {
+        return new ByteArrayResource(new byte[size]);
+    }
+
+    // What the controller does: look it up, and on a miss offer the file to the cache
+    private ByteBuffer request(String key) throws IOException {
+        ByteBuffer cached = cache.get(key);
+        return cached != null ? cached : cache.cacheIfAdmitted(key, file(100));
+    }
+
+    @Test
+    void servesRepeatRequestsFromMemory() throws IOException {
+        ByteBuffer first = request("a");
+        assertNotNull(first);
+        assertEquals(100, first.remaining());
+
+        assertNotNull(cache.get("a"));
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(1, cache.getStats().getMisses());
+        assertEquals(100, cache.getStats().getUsedBytes());
+    }
+
+    @Test
+    void skipsFilesTooLargeToCache() throws IOException {
+        assertNull(cache.cacheIfAdmitted("big", file(201)));
+        assertEquals(0, cache.getStats().getEntries());
+    }
+
+    @Test
+    void oneOffRequestCannotDisplaceFrequentFiles() throws IOException {
+        for (int round = 0; round < 3; round++) {
+            request("a");
+            request("b");
+            request("c");
+        }
+
+        // Null: the controller streams it from storage instead
+        assertNull(request("d"));
+        assertEquals(1, cache.getStats().getRejections());
+        assertEquals(3, cache.getStats().getEntries());
+        assertEquals(0, cache.getStats().getEvictions());
+    }
+
+    @Test
+    void popularNewcomerEvictsLeastRecentlyUsed() throws IOException {
+        request("a");
+        request("b");
+        request("c");
+        cache.get("a"); // b is now the least recently used
+
+        for (int i = 0; i < 3; i++) request("d");
+
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(3, cache.getStats().getEntries());
+        assertEquals(300, cache.getStats().getUsedBytes());
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("d"));
+    }
+
+    @Test
+    void invalidatedFileIsDropped() throws IOException {
+        request("a");
+        cache.invalidate("a");
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getStats().getUsedBytes());
+        assertEquals(1, cache.getStats().getInvalidations());
+    }
+}
@@ -0,0 +1,64 @@
+package com.job.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    private static final long MINUTE = 60_000;
+    private static final long START = 1_700_000_123_456L;
+
+    @Test
+    void firesEachDeadlineOnceAndNeverEarlyAcrossAllLevels() {
+        TimingWheel wheel = new TimingWheel(MINUTE, 60, START);
+        Random random = new Random(42);
+        Map<Long, Long> deadlines = new HashMap<>();
+        for (long id = 0; id < 5000; id++) {
+            long deadline = START + (long) (random.nextDouble() * 200 * 24 * 60 * MINUTE);
+            deadlines.put(id, deadline);
+            wheel.schedule(id, deadline);
+        }
+
+        long now = START;
+        while (now < START + 201L * 24 * 60 * MINUTE) {
+            now += MINUTE;
+            for (long id : wheel.advance(now)) {
+                long deadline = deadlines.remove(id);
+                // Never early; late by at most the end of the deadline's tick plus one advance interval
+                assertTrue(deadline <= now && now - deadline < 2 * MINUTE, "job " + id + " fired at the wrong time");
+            }
+        }
+        assertTrue(deadlines.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelledAndRescheduledTimersOnlyFireAtTheirCurrentDeadline() {
+        TimingWheel wheel = new TimingWheel(MINUTE, 60, START);
+        wheel.schedule(1, START + 10 * MINUTE);
+        wheel.schedule(2, START + 10 * MINUTE);
+        wheel.schedule(2, START + 500 * MINUTE);
+        wheel.schedule(3, START + 10 * MINUTE);
+        wheel.cancel(3);
+
+        assertEquals(List.of(1L), wheel.advance(START + 20 * MINUTE));
+        assertEquals(List.of(), wheel.advance(START + 400 * MINUTE));
+        assertEquals(List.of(2L), wheel.advance(START + 502 * MINUTE));
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextAdvance() {
+        TimingWheel wheel = new TimingWheel(MINUTE, 60, START);
+        wheel.advance(START + 5 * MINUTE);
+        wheel.schedule(7, START);
+
+        assertEquals(List.of(7L), wheel.advance(START + 5 * MINUTE));
+    }
+}